@@ -1,6 +1,7 @@
 package com.portfolio.weatheralert.api;
 
 import jakarta.persistence.EntityNotFoundException;
+import com.portfolio.weatheralert.service.InvalidSubscriptionException;
 import com.portfolio.weatheralert.weather.WeatherProviderUnavailableException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
@@ -18,6 +19,13 @@ public class ApiExceptionHandler {
         return detail;
     }
 
+    @ExceptionHandler(InvalidSubscriptionException.class)
+    ProblemDetail handleBadRequest(InvalidSubscriptionException exception) {
+        ProblemDetail detail = ProblemDetail.forStatus(HttpStatus.BAD_REQUEST);
+        detail.setDetail(exception.getMessage());
+        return detail;
+    }
+
     @ExceptionHandler(DataIntegrityViolationException.class)
     ProblemDetail handleConflict(DataIntegrityViolationException exception) {
         ProblemDetail detail = ProblemDetail.forStatus(HttpStatus.CONFLICT);
@@ -1,7 +1,13 @@
 package com.portfolio.weatheralert.api;
 
-import com.portfolio.weatheralert.service.WeatherIngestService;
+import java.time.Clock;
+import java.util.UUID;
+
+import com.portfolio.weatheralert.service.IngestJobService;
+import com.portfolio.weatheralert.service.dto.IngestJobResponse;
 import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -11,16 +17,23 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/api/v1/ingest")
 public class IngestController {
 
-    private final WeatherIngestService weatherIngestService;
+    private final IngestJobService ingestJobService;
+    private final Clock clock;
 
-    public IngestController(WeatherIngestService weatherIngestService) {
-        this.weatherIngestService = weatherIngestService;
+    public IngestController(IngestJobService ingestJobService, Clock clock) {
+        this.ingestJobService = ingestJobService;
+        this.clock = clock;
     }
 
     @PostMapping("/run")
     @ResponseStatus(HttpStatus.ACCEPTED)
-    public void runOnce() {
-        weatherIngestService.ingestAllLocations();
+    public IngestJobResponse runOnce() {
+        return IngestJobResponse.from(ingestJobService.submit(), clock.instant());
     }
-}
 
+    // Node-local: answers 404 for a job that another node accepted.
+    @GetMapping("/jobs/{jobId}")
+    public IngestJobResponse job(@PathVariable UUID jobId) {
+        return IngestJobResponse.from(ingestJobService.find(jobId), clock.instant());
+    }
+}
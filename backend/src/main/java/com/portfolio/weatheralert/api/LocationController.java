@@ -6,6 +6,7 @@ import java.util.UUID;
 import com.portfolio.weatheralert.service.LocationService;
 import com.portfolio.weatheralert.service.WeatherForecastService;
 import com.portfolio.weatheralert.service.WeatherQueryService;
+import com.portfolio.weatheralert.service.WeatherReadTracker;
 import com.portfolio.weatheralert.service.dto.CreateLocationRequest;
 import com.portfolio.weatheralert.service.dto.CurrentWeatherResponse;
 import com.portfolio.weatheralert.service.dto.HourlyWeatherResponse;
@@ -28,13 +29,16 @@ public class LocationController {
     private final LocationService locationService;
     private final WeatherQueryService weatherQueryService;
     private final WeatherForecastService weatherForecastService;
+    private final WeatherReadTracker weatherReadTracker;
 
     public LocationController(LocationService locationService,
                               WeatherQueryService weatherQueryService,
-                              WeatherForecastService weatherForecastService) {
+                              WeatherForecastService weatherForecastService,
+                              WeatherReadTracker weatherReadTracker) {
         this.locationService = locationService;
         this.weatherQueryService = weatherQueryService;
         this.weatherForecastService = weatherForecastService;
+        this.weatherReadTracker = weatherReadTracker;
     }
 
     @PostMapping
@@ -50,13 +54,16 @@ public class LocationController {
 
     @GetMapping("/{locationId}/weather/current")
     public CurrentWeatherResponse current(@PathVariable UUID locationId) {
-        return weatherQueryService.getCurrent(locationId);
+        // Counted only once the location is known to exist, so unknown ids never reach the tracker.
+        CurrentWeatherResponse current = weatherQueryService.getCurrent(locationId);
+        weatherReadTracker.record(locationId);
+        return current;
     }
 
     @GetMapping("/{locationId}/weather/hourly")
     public HourlyWeatherResponse hourly(@PathVariable UUID locationId,
                                         @RequestParam(defaultValue = "24") int hours) {
-        int clamped = Math.min(Math.max(hours, 1), 168);
+        int clamped = Math.min(Math.max(hours, 1), WeatherForecastService.HORIZON_HOURS);
         return weatherForecastService.getHourly(locationId, clamped);
     }
 }
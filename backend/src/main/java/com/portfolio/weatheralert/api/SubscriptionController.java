@@ -1,10 +1,13 @@
 package com.portfolio.weatheralert.api;
 
+import java.util.UUID;
+
 import com.portfolio.weatheralert.service.SubscriptionService;
 import com.portfolio.weatheralert.service.dto.CreateSubscriptionRequest;
 import com.portfolio.weatheralert.service.dto.SubscriptionResponse;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -26,5 +29,10 @@ public class SubscriptionController {
     public SubscriptionResponse create(@Valid @RequestBody CreateSubscriptionRequest request) {
         return subscriptionService.create(request);
     }
+
+    @PostMapping("/{subscriptionId}/disable")
+    public SubscriptionResponse disable(@PathVariable UUID subscriptionId) {
+        return subscriptionService.disable(subscriptionId);
+    }
 }
 
@@ -0,0 +1,24 @@
+package com.portfolio.weatheralert.cache;
+
+import java.time.Duration;
+
+// Cross-node guard around filling one cache entry: only the holder calls the backing source, the others wait for
+// the entry to appear. LOCAL grants every request, which leaves coalescing to the JVM alone.
+public interface CacheFillLock {
+
+    CacheFillLock LOCAL = new CacheFillLock() {
+        @Override
+        public boolean tryLock(String key, String token, Duration ttl) {
+            return true;
+        }
+
+        @Override
+        public void unlock(String key, String token) {
+        }
+    };
+
+    boolean tryLock(String key, String token, Duration ttl);
+
+    // Releases the lock only while token still owns it; an expired lock may already belong to another node.
+    void unlock(String key, String token);
+}
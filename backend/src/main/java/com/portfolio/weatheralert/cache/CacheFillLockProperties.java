@@ -0,0 +1,14 @@
+package com.portfolio.weatheralert.cache;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+// ttl bounds how long other nodes wait on a holder before loading themselves.
+@ConfigurationProperties(prefix = "cache.fill-lock")
+public record CacheFillLockProperties(
+        boolean enabled,
+        Duration ttl,
+        Duration pollInterval
+) {
+}
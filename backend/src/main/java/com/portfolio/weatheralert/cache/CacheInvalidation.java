@@ -0,0 +1,19 @@
+package com.portfolio.weatheralert.cache;
+
+// One pub/sub message: drop key (or, with no key, everything) from cacheName's L1 on every node but origin.
+record CacheInvalidation(String origin, String cacheName, String key) {
+
+    private static final String SEPARATOR = "|";
+
+    String encode() {
+        return origin + SEPARATOR + cacheName + SEPARATOR + (key == null ? "" : key);
+    }
+
+    static CacheInvalidation decode(String message) {
+        String[] parts = message.split("\\|", 3);
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("malformed cache invalidation: " + message);
+        }
+        return new CacheInvalidation(parts[0], parts[1], parts[2].isEmpty() ? null : parts[2]);
+    }
+}
@@ -0,0 +1,17 @@
+package com.portfolio.weatheralert.cache;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+// In-process L1 limits per cache name. Caches without an entry here are served straight from Redis.
+@ConfigurationProperties(prefix = "cache.near")
+public record NearCacheProperties(
+        String invalidationChannel,
+        Map<String, Spec> caches
+) {
+
+    public record Spec(long maxSize, Duration ttl) {
+    }
+}
@@ -0,0 +1,48 @@
+package com.portfolio.weatheralert.cache;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+// SET NX PX lease. When Redis cannot be reached the lock is granted: every node loading for itself is what happened
+// before the lock existed, which beats nobody loading at all.
+public class RedisCacheFillLock implements CacheFillLock {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisCacheFillLock.class);
+
+    private static final RedisScript<Long> UNLOCK = RedisScript.of("""
+            if redis.call('get', KEYS[1]) == ARGV[1] then
+                return redis.call('del', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public RedisCacheFillLock(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public boolean tryLock(String key, String token, Duration ttl) {
+        try {
+            return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(key, token, ttl));
+        } catch (RuntimeException e) {
+            log.warn("cache fill lock unavailable key={} err={}", key, e.toString());
+            return true;
+        }
+    }
+
+    @Override
+    public void unlock(String key, String token) {
+        try {
+            redisTemplate.execute(UNLOCK, List.of(key), token);
+        } catch (RuntimeException e) {
+            log.warn("cache fill lock not released key={} err={}", key, e.toString());
+        }
+    }
+}
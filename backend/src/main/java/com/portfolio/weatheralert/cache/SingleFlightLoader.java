@@ -0,0 +1,186 @@
+package com.portfolio.weatheralert.cache;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+// Read-through with request coalescing: on a miss, one caller per key and JVM runs the loader and everyone else
+// waiting on that key gets its result (or its exception). With a cluster CacheFillLock the leader additionally
+// takes a short lease, and leaders on other nodes poll the cache for the holder's entry instead of loading too.
+@Component
+public class SingleFlightLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(SingleFlightLoader.class);
+
+    static final String METRIC = "cache.fills";
+    private static final int REFRESH_THREADS = 2;
+
+    private final CacheFillLock fillLock;
+    private final CacheFillLockProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final com.github.benmanes.caffeine.cache.Cache<String, Boolean> failedRefreshes;
+    private final ExecutorService refresher =
+            Executors.newFixedThreadPool(REFRESH_THREADS, new CustomizableThreadFactory("cache-refresh-"));
+
+    public SingleFlightLoader(ObjectProvider<CacheFillLock> fillLock,
+                              CacheFillLockProperties properties,
+                              MeterRegistry meterRegistry) {
+        this.fillLock = fillLock.getIfAvailable(() -> CacheFillLock.LOCAL);
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.failedRefreshes = Caffeine.newBuilder().maximumSize(10_000).expireAfterWrite(properties.ttl()).build();
+    }
+
+    public <T> T get(Cache cache, Object key, Class<T> type, Supplier<T> loader) {
+        T cached = cache.get(key, type);
+        if (cached != null) {
+            return cached;
+        }
+
+        String flightKey = cache.getName() + ":" + key;
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> leader = inFlight.putIfAbsent(flightKey, flight);
+        if (leader != null) {
+            count(cache, "joined");
+            return type.cast(await(leader));
+        }
+
+        return lead(cache, key, type, loader, flightKey, flight, false);
+    }
+
+    // Reloads an entry that is still cached but due for renewal, off the caller's thread. The caller keeps serving
+    // what it has; a refresh already running for the key, here or (with a cluster lock) on another node, is not
+    // started twice. A failed refresh leaves the old entry in place and is not retried for one lease, so an open
+    // circuit breaker is not hammered by every request.
+    public <T> void refresh(Cache cache, Object key, Class<T> type, Supplier<T> loader) {
+        String flightKey = cache.getName() + ":" + key;
+        if (failedRefreshes.getIfPresent(flightKey) != null) {
+            return;
+        }
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        if (inFlight.putIfAbsent(flightKey, flight) != null) {
+            return;
+        }
+        try {
+            refresher.execute(() -> {
+                try {
+                    lead(cache, key, type, loader, flightKey, flight, true);
+                } catch (RuntimeException e) {
+                    failedRefreshes.put(flightKey, Boolean.TRUE);
+                    log.warn("cache refresh failed cache={} key={} err={}", cache.getName(), key, e.toString());
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.remove(flightKey, flight);
+            flight.completeExceptionally(e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    private <T> T lead(Cache cache, Object key, Class<T> type, Supplier<T> loader, String flightKey,
+                       CompletableFuture<Object> flight, boolean refresh) {
+        try {
+            T value = fill(cache, key, type, loader, flightKey, refresh);
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flightKey, flight);
+        }
+    }
+
+    private <T> T fill(Cache cache, Object key, Class<T> type, Supplier<T> loader, String flightKey, boolean refresh) {
+        // A previous flight may have finished between the first lookup and taking the lead.
+        if (!refresh) {
+            T cached = cache.get(key, type);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        String lockKey = "cache-fill:" + flightKey;
+        String token = UUID.randomUUID().toString();
+        boolean locked = fillLock.tryLock(lockKey, token, properties.ttl());
+        if (!locked) {
+            // Another node is loading. A refresh has nothing to wait for: the entry it would renew is still there.
+            T filled = refresh ? cache.get(key, type) : awaitRemoteFill(cache, key, type);
+            if (filled != null) {
+                count(cache, "remote");
+                return filled;
+            }
+        }
+
+        try {
+            T value = loader.get();
+            cache.put(key, value);
+            count(cache, refresh ? "refreshed" : "loaded");
+            return value;
+        } finally {
+            if (locked) {
+                fillLock.unlock(lockKey, token);
+            }
+        }
+    }
+
+    // Gives up after one lease: by then the holder has either filled the entry or died holding the lock.
+    private <T> T awaitRemoteFill(Cache cache, Object key, Class<T> type) {
+        long deadline = System.nanoTime() + properties.ttl().toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(properties.pollInterval().toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            T cached = cache.get(key, type);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        return null;
+    }
+
+    private static Object await(CompletableFuture<Object> leader) {
+        try {
+            return leader.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void count(Cache cache, String outcome) {
+        Counter.builder(METRIC)
+                .tags("cache", cache.getName(), "outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+}
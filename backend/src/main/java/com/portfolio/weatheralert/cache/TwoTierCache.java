@@ -0,0 +1,153 @@
+package com.portfolio.weatheralert.cache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+// A bounded Caffeine L1 in front of a shared L2 (Redis). Reads try L1 first and fill it from L2; every write goes to
+// L2 first, then L1, and is broadcast so the other nodes drop their L1 copy. L1 keys are the string form of the key,
+// which is also what Redis keys are built from, so an invalidation message names the same entry on every node.
+public class TwoTierCache implements Cache {
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, ValueWrapper> local;
+    private final Cache remote;
+    private final TwoTierCacheManager manager;
+
+    final LongAdder localHits = new LongAdder();
+    final LongAdder localMisses = new LongAdder();
+    final LongAdder remoteHits = new LongAdder();
+    final LongAdder remoteMisses = new LongAdder();
+
+    TwoTierCache(String name,
+                 com.github.benmanes.caffeine.cache.Cache<String, ValueWrapper> local,
+                 Cache remote,
+                 TwoTierCacheManager manager) {
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.manager = manager;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remote.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String localKey = localKey(key);
+        ValueWrapper cached = local.getIfPresent(localKey);
+        if (cached != null) {
+            localHits.increment();
+            return cached;
+        }
+        localMisses.increment();
+        ValueWrapper loaded = remote.get(key);
+        if (loaded == null) {
+            remoteMisses.increment();
+            return null;
+        }
+        remoteHits.increment();
+        local.put(localKey, loaded);
+        return loaded;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper == null ? null : wrapper.get();
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+        AtomicBoolean loaded = new AtomicBoolean();
+        T value = remote.get(key, () -> {
+            loaded.set(true);
+            return valueLoader.call();
+        });
+        local.put(localKey(key), new SimpleValueWrapper(value));
+        if (loaded.get()) {
+            manager.publish(name, localKey(key));
+        }
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remote.put(key, value);
+        local.put(localKey(key), new SimpleValueWrapper(value));
+        manager.publish(name, localKey(key));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = remote.putIfAbsent(key, value);
+        local.invalidate(localKey(key));
+        if (existing == null) {
+            manager.publish(name, localKey(key));
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        local.invalidate(localKey(key));
+        manager.publish(name, localKey(key));
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean present = remote.evictIfPresent(key);
+        local.invalidate(localKey(key));
+        manager.publish(name, localKey(key));
+        return present;
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        local.invalidateAll();
+        manager.publish(name, null);
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean present = remote.invalidate();
+        local.invalidateAll();
+        manager.publish(name, null);
+        return present;
+    }
+
+    // Another node changed the entry: forget the local copy, the next read goes to L2.
+    void invalidateLocal(String key) {
+        if (key == null) {
+            local.invalidateAll();
+        } else {
+            local.invalidate(key);
+        }
+    }
+
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+}
@@ -0,0 +1,110 @@
+package com.portfolio.weatheralert.cache;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+// Wraps the Redis cache manager with per-name Caffeine L1s. Invalidations travel as pub/sub messages through
+// broadcaster; they are best effort, and the short L1 TTL bounds how long a node that missed one can serve stale data.
+public class TwoTierCacheManager implements CacheManager {
+
+    private static final Logger log = LoggerFactory.getLogger(TwoTierCacheManager.class);
+
+    static final String GETS_METRIC = "cache.tier.gets";
+    static final String HIT_RATIO_METRIC = "cache.tier.hit.ratio";
+
+    private final CacheManager remote;
+    private final NearCacheProperties properties;
+    private final Consumer<String> broadcaster;
+    private final MeterRegistry meterRegistry;
+    private final String origin = UUID.randomUUID().toString();
+    private final Map<String, Cache> caches = new ConcurrentHashMap<>();
+
+    public TwoTierCacheManager(CacheManager remote,
+                               NearCacheProperties properties,
+                               Consumer<String> broadcaster,
+                               MeterRegistry meterRegistry) {
+        this.remote = remote;
+        this.properties = properties;
+        this.broadcaster = broadcaster;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, this::create);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return remote.getCacheNames();
+    }
+
+    // Entry point for messages from the invalidation channel, this node's own included.
+    public void onInvalidation(String message) {
+        CacheInvalidation invalidation = CacheInvalidation.decode(message);
+        if (origin.equals(invalidation.origin())) {
+            return;
+        }
+        if (caches.get(invalidation.cacheName()) instanceof TwoTierCache cache) {
+            cache.invalidateLocal(invalidation.key());
+        }
+    }
+
+    void publish(String cacheName, String key) {
+        try {
+            broadcaster.accept(new CacheInvalidation(origin, cacheName, key).encode());
+        } catch (RuntimeException e) {
+            log.warn("cache invalidation not published cache={} key={} err={}", cacheName, key, e.toString());
+        }
+    }
+
+    private Cache create(String name) {
+        Cache l2 = remote.getCache(name);
+        NearCacheProperties.Spec spec = properties.caches() == null ? null : properties.caches().get(name);
+        if (l2 == null || spec == null) {
+            return l2;
+        }
+        TwoTierCache cache = new TwoTierCache(
+                name,
+                Caffeine.newBuilder().maximumSize(spec.maxSize()).expireAfterWrite(spec.ttl()).build(),
+                l2,
+                this);
+        registerMetrics(cache);
+        return cache;
+    }
+
+    private void registerMetrics(TwoTierCache cache) {
+        registerTier(cache.getName(), "l1", cache.localHits, cache.localMisses);
+        registerTier(cache.getName(), "l2", cache.remoteHits, cache.remoteMisses);
+    }
+
+    // L2 only sees L1 misses, so its ratio is the share of those that Redis could answer.
+    private void registerTier(String cacheName, String tier, LongAdder hits, LongAdder misses) {
+        FunctionCounter.builder(GETS_METRIC, hits, LongAdder::sum)
+                .tags("cache", cacheName, "tier", tier, "result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder(GETS_METRIC, misses, LongAdder::sum)
+                .tags("cache", cacheName, "tier", tier, "result", "miss")
+                .register(meterRegistry);
+        Gauge.builder(HIT_RATIO_METRIC, () -> {
+                    long hit = hits.sum();
+                    long total = hit + misses.sum();
+                    return total == 0 ? 0.0 : (double) hit / total;
+                })
+                .tags("cache", cacheName, "tier", tier)
+                .register(meterRegistry);
+    }
+}
@@ -1,9 +1,15 @@
 package com.portfolio.weatheralert.config;
 
+import java.nio.charset.StandardCharsets;
+
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portfolio.weatheralert.cache.NearCacheProperties;
+import com.portfolio.weatheralert.cache.RedisCacheFillLock;
+import com.portfolio.weatheralert.cache.TwoTierCacheManager;
 import com.portfolio.weatheralert.service.CacheTtlProperties;
 import com.portfolio.weatheralert.service.dto.CurrentWeatherResponse;
 import com.portfolio.weatheralert.service.dto.HourlyWeatherResponse;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -11,6 +17,9 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 
@@ -20,9 +29,40 @@ import org.springframework.data.redis.serializer.RedisSerializationContext;
 public class CacheConfig {
 
     @Bean
-    public RedisCacheManager cacheManager(RedisConnectionFactory connectionFactory,
-                                         CacheTtlProperties properties,
-                                         ObjectMapper objectMapper) {
+    public TwoTierCacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                            CacheTtlProperties properties,
+                                            NearCacheProperties nearCacheProperties,
+                                            ObjectMapper objectMapper,
+                                            StringRedisTemplate redisTemplate,
+                                            MeterRegistry meterRegistry) {
+        return new TwoTierCacheManager(
+                redisCacheManager(connectionFactory, properties, objectMapper),
+                nearCacheProperties,
+                message -> redisTemplate.convertAndSend(nearCacheProperties.invalidationChannel(), message),
+                meterRegistry);
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListener(RedisConnectionFactory connectionFactory,
+                                                                   TwoTierCacheManager cacheManager,
+                                                                   NearCacheProperties nearCacheProperties) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(
+                (message, pattern) -> cacheManager.onInvalidation(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(nearCacheProperties.invalidationChannel()));
+        return container;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "cache.fill-lock.enabled", havingValue = "true")
+    public RedisCacheFillLock cacheFillLock(StringRedisTemplate redisTemplate) {
+        return new RedisCacheFillLock(redisTemplate);
+    }
+
+    private static RedisCacheManager redisCacheManager(RedisConnectionFactory connectionFactory,
+                                                       CacheTtlProperties properties,
+                                                       ObjectMapper objectMapper) {
         Jackson2JsonRedisSerializer<CurrentWeatherResponse> currentWeatherSerializer =
                 new Jackson2JsonRedisSerializer<>(CurrentWeatherResponse.class);
         currentWeatherSerializer.setObjectMapper(objectMapper);
@@ -40,10 +80,13 @@ public class CacheConfig {
                 .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(hourlyWeatherSerializer))
                 .entryTtl(properties.hourlyWeatherTtl());
 
-        return RedisCacheManager.builder(connectionFactory)
+        RedisCacheManager cacheManager = RedisCacheManager.builder(connectionFactory)
                 .cacheDefaults(defaultConfig)
                 .withCacheConfiguration("currentWeather", currentWeatherConfig)
                 .withCacheConfiguration("hourlyWeather", hourlyWeatherConfig)
                 .build();
+        // Not a bean of its own, so the configured caches have to be loaded by hand.
+        cacheManager.initializeCaches();
+        return cacheManager;
     }
 }
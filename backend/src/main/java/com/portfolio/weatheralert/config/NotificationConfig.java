@@ -0,0 +1,23 @@
+package com.portfolio.weatheralert.config;
+
+import java.net.http.HttpClient;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portfolio.weatheralert.notification.NotificationProperties;
+import com.portfolio.weatheralert.notification.WebhookNotificationChannel;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class NotificationConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "alert.notification.webhook", name = "url")
+    public WebhookNotificationChannel webhookNotificationChannel(NotificationProperties properties, ObjectMapper objectMapper) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(properties.webhook().timeout())
+                .build();
+        return new WebhookNotificationChannel(httpClient, properties.webhook(), objectMapper);
+    }
+}
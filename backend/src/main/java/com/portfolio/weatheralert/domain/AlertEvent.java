@@ -34,28 +34,55 @@ public class AlertEvent extends AuditedEntity {
     @JoinColumn(name = "subscription_id", nullable = false)
     private Subscription subscription;
 
-    @ManyToOne(fetch = FetchType.LAZY, optional = false)
-    @JoinColumn(name = "snapshot_id", nullable = false)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "snapshot_id")
     private WeatherSnapshot snapshot;
 
+    @Column(name = "forecast_for")
+    private Instant forecastFor;
+
+    @Column(name = "lead_hours")
+    private Integer leadHours;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false, length = 16)
     private AlertStatus status;
 
-    @Column(nullable = false, length = 500)
-    private String message;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "rule_type", nullable = false, length = 32)
+    private RuleType ruleType;
+
+    @Column(nullable = false)
+    private double threshold;
 
     @Column(name = "sent_at")
     private Instant sentAt;
 
+    @Column(name = "claimed_until")
+    private Instant claimedUntil;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at")
+    private Instant nextAttemptAt;
+
+    @Column(name = "last_error")
+    private String lastError;
+
+    // Text stored by alerts written before V8; null for every alert since.
+    @Column(name = "message", length = 500, insertable = false, updatable = false)
+    private String legacyMessage;
+
     protected AlertEvent() {
     }
 
-    public AlertEvent(Subscription subscription, WeatherSnapshot snapshot, AlertStatus status, String message) {
+    public AlertEvent(Subscription subscription, WeatherSnapshot snapshot, RuleType ruleType, double threshold, AlertStatus status) {
         this.subscription = subscription;
         this.snapshot = snapshot;
+        this.ruleType = ruleType;
+        this.threshold = threshold;
         this.status = status;
-        this.message = message;
     }
 
     public UUID getId() {
@@ -70,20 +97,59 @@ public class AlertEvent extends AuditedEntity {
         return snapshot;
     }
 
+    public Instant getForecastFor() {
+        return forecastFor;
+    }
+
+    public Integer getLeadHours() {
+        return leadHours;
+    }
+
     public AlertStatus getStatus() {
         return status;
     }
 
-    public String getMessage() {
-        return message;
+    public RuleType getRuleType() {
+        return ruleType;
+    }
+
+    public double getThreshold() {
+        return threshold;
     }
 
     public Instant getSentAt() {
         return sentAt;
     }
 
-    public void markSent(Instant sentAt) {
-        this.status = AlertStatus.SENT;
-        this.sentAt = sentAt;
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public Instant getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public String getLegacyMessage() {
+        return legacyMessage;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void retryAt(Instant nextAttemptAt, String error) {
+        this.attempts++;
+        this.status = AlertStatus.PENDING;
+        this.nextAttemptAt = nextAttemptAt;
+        this.claimedUntil = null;
+        this.lastError = error;
+    }
+
+    public void deadLetter(String error) {
+        this.attempts++;
+        this.status = AlertStatus.DEAD_LETTER;
+        this.nextAttemptAt = null;
+        this.claimedUntil = null;
+        this.lastError = error;
     }
 }
@@ -2,6 +2,8 @@ package com.portfolio.weatheralert.domain;
 
 public enum AlertStatus {
     PENDING,
-    SENT
+    SENDING,
+    SENT,
+    DEAD_LETTER
 }
 
@@ -0,0 +1,134 @@
+package com.portfolio.weatheralert.domain;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import org.springframework.data.domain.Persistable;
+
+@Entity
+@Table(name = "location_poll_schedules")
+public class LocationPollSchedule implements Persistable<UUID> {
+
+    private static final double VOLATILITY_SMOOTHING = 0.5;
+
+    @Id
+    @Column(name = "location_id")
+    private UUID locationId;
+
+    @Column(name = "next_poll_at", nullable = false)
+    private Instant nextPollAt;
+
+    @Column(name = "last_polled_at", nullable = false)
+    private Instant lastPolledAt;
+
+    @Column(name = "poll_interval_seconds", nullable = false)
+    private int pollIntervalSeconds;
+
+    @Column(name = "recent_reads", nullable = false)
+    private long recentReads;
+
+    @Column(nullable = false)
+    private double volatility;
+
+    @Column(name = "last_temperature_c")
+    private Double lastTemperatureC;
+
+    @Column(name = "last_precipitation_mm")
+    private Double lastPrecipitationMm;
+
+    @Column(name = "failed_polls", nullable = false)
+    private int failedPolls;
+
+    @Transient
+    private boolean isNew = true;
+
+    protected LocationPollSchedule() {
+    }
+
+    public LocationPollSchedule(UUID locationId) {
+        this.locationId = locationId;
+    }
+
+    // Volatility is a smoothed rate of change (degrees / millimetres per hour) between consecutive polls.
+    public void recordObservation(Instant polledAt, Double temperatureC, Double precipitationMm) {
+        if (lastPolledAt != null) {
+            double hours = Math.max(Duration.between(lastPolledAt, polledAt).toSeconds(), 60) / 3600.0;
+            double change = delta(lastTemperatureC, temperatureC) + delta(lastPrecipitationMm, precipitationMm);
+            volatility = VOLATILITY_SMOOTHING * volatility + (1 - VOLATILITY_SMOOTHING) * (change / hours);
+        }
+        if (temperatureC != null) {
+            lastTemperatureC = temperatureC;
+        }
+        if (precipitationMm != null) {
+            lastPrecipitationMm = precipitationMm;
+        }
+        lastPolledAt = polledAt;
+    }
+
+    public void scheduleNext(Instant nextPollAt, Duration interval) {
+        this.pollIntervalSeconds = (int) interval.toSeconds();
+        this.nextPollAt = nextPollAt;
+        recentReads = 0;
+        failedPolls = 0;
+    }
+
+    private static double delta(Double previous, Double current) {
+        return previous == null || current == null ? 0 : Math.abs(current - previous);
+    }
+
+    @Override
+    public UUID getId() {
+        return locationId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    public Instant getNextPollAt() {
+        return nextPollAt;
+    }
+
+    public Instant getLastPolledAt() {
+        return lastPolledAt;
+    }
+
+    public int getPollIntervalSeconds() {
+        return pollIntervalSeconds;
+    }
+
+    public long getRecentReads() {
+        return recentReads;
+    }
+
+    public double getVolatility() {
+        return volatility;
+    }
+
+    public Double getLastTemperatureC() {
+        return lastTemperatureC;
+    }
+
+    public Double getLastPrecipitationMm() {
+        return lastPrecipitationMm;
+    }
+
+    public int getFailedPolls() {
+        return failedPolls;
+    }
+}
@@ -0,0 +1,64 @@
+package com.portfolio.weatheralert.domain;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import org.springframework.data.domain.Persistable;
+
+@Entity
+@Table(name = "snapshot_evaluation_outbox")
+public class SnapshotEvaluationOutbox extends AuditedEntity implements Persistable<UUID> {
+
+    @Id
+    @Column(name = "snapshot_id")
+    private UUID snapshotId;
+
+    @Column(name = "location_id", nullable = false)
+    private UUID locationId;
+
+    // Written only by the lease statements in SnapshotEvaluationOutboxClaimRepository.
+    @Column(name = "claimed_until")
+    private Instant claimedUntil;
+
+    @Transient
+    private boolean isNew = true;
+
+    protected SnapshotEvaluationOutbox() {
+    }
+
+    public SnapshotEvaluationOutbox(UUID snapshotId, UUID locationId) {
+        this.snapshotId = snapshotId;
+        this.locationId = locationId;
+    }
+
+    @Override
+    public UUID getId() {
+        return snapshotId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    public UUID getLocationId() {
+        return locationId;
+    }
+
+    public Instant getClaimedUntil() {
+        return claimedUntil;
+    }
+}
@@ -50,6 +50,12 @@ public class Subscription extends AuditedEntity {
     @Column(nullable = false)
     private boolean enabled = true;
 
+    @Column(name = "lead_hours")
+    private Integer leadHours;
+
+    @Column(nullable = false, length = 32)
+    private String channel = "log";
+
     protected Subscription() {
     }
 
@@ -60,6 +66,16 @@ public class Subscription extends AuditedEntity {
         this.threshold = threshold;
     }
 
+    public Subscription(AppUser user, Location location, RuleType ruleType, double threshold, Integer leadHours) {
+        this(user, location, ruleType, threshold);
+        this.leadHours = leadHours;
+    }
+
+    public Subscription(AppUser user, Location location, RuleType ruleType, double threshold, Integer leadHours, String channel) {
+        this(user, location, ruleType, threshold, leadHours);
+        this.channel = channel;
+    }
+
     public UUID getId() {
         return id;
     }
@@ -80,6 +96,14 @@ public class Subscription extends AuditedEntity {
         return threshold;
     }
 
+    public Integer getLeadHours() {
+        return leadHours;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
     public boolean isEnabled() {
         return enabled;
     }
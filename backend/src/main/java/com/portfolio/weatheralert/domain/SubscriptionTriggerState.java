@@ -0,0 +1,62 @@
+package com.portfolio.weatheralert.domain;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import org.springframework.data.domain.Persistable;
+
+@Entity
+@Table(name = "subscription_trigger_states")
+public class SubscriptionTriggerState implements Persistable<UUID> {
+
+    @Id
+    @Column(name = "subscription_id")
+    private UUID subscriptionId;
+
+    @Column(nullable = false)
+    private boolean armed = true;
+
+    @Column(name = "last_fired_at")
+    private Instant lastFiredAt;
+
+    @Transient
+    private boolean isNew = true;
+
+    protected SubscriptionTriggerState() {
+    }
+
+    public SubscriptionTriggerState(UUID subscriptionId) {
+        this.subscriptionId = subscriptionId;
+    }
+
+    @Override
+    public UUID getId() {
+        return subscriptionId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    public boolean isArmed() {
+        return armed;
+    }
+
+    public Instant getLastFiredAt() {
+        return lastFiredAt;
+    }
+}
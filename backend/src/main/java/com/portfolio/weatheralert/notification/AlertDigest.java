@@ -0,0 +1,12 @@
+package com.portfolio.weatheralert.notification;
+
+import java.util.List;
+import java.util.UUID;
+
+// Everything one user has pending on a channel, delivered as a single message.
+public record AlertDigest(
+        UUID userId,
+        String email,
+        List<AlertNotification> alerts
+) {
+}
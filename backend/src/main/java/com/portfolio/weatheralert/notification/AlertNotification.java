@@ -0,0 +1,11 @@
+package com.portfolio.weatheralert.notification;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record AlertNotification(
+        UUID alertId,
+        String message,
+        Instant createdAt
+) {
+}
@@ -0,0 +1,38 @@
+package com.portfolio.weatheralert.notification;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+// Demo channel and the default for subscriptions that do not pick one.
+@Component
+public class LogNotificationChannel implements NotificationChannel {
+
+    public static final String NAME = "log";
+
+    private static final Logger log = LoggerFactory.getLogger(LogNotificationChannel.class);
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    // Completes on the caller's thread, so it never has more batches outstanding than there are dispatch workers.
+    @Override
+    public int maxInFlight() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public CompletableFuture<Void> send(List<AlertDigest> batch) {
+        for (AlertDigest digest : batch) {
+            String messages = digest.alerts().stream().map(AlertNotification::message).collect(Collectors.joining(" | "));
+            log.info("ALERT_SEND to={} alerts={} message={}", digest.email(), digest.alerts().size(), messages);
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+}
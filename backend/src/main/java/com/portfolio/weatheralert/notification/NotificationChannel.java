@@ -0,0 +1,16 @@
+package com.portfolio.weatheralert.notification;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+// A delivery target for alert digests. send must not block the calling dispatcher thread on I/O: it returns a future
+// that completes once the whole batch was accepted, or fails with NotificationDeliveryException (or an I/O error) otherwise.
+public interface NotificationChannel {
+
+    String name();
+
+    // Upper bound on batches this channel has outstanding at once on a node.
+    int maxInFlight();
+
+    CompletableFuture<Void> send(List<AlertDigest> batch);
+}
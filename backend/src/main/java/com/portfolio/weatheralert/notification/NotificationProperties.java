@@ -0,0 +1,23 @@
+package com.portfolio.weatheralert.notification;
+
+import java.net.URI;
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "alert.notification")
+public record NotificationProperties(
+        int maxAttempts,
+        Duration retryBackoff,
+        Duration maxRetryBackoff,
+        Webhook webhook
+) {
+
+    // The webhook channel is only registered when url is set.
+    public record Webhook(
+            URI url,
+            Duration timeout,
+            int maxInFlight
+    ) {
+    }
+}
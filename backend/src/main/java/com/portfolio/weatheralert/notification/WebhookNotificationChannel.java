@@ -0,0 +1,66 @@
+package com.portfolio.weatheralert.notification;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// POSTs each batch as one JSON document. The JDK client sends asynchronously, so a slow endpoint ties up only
+// this channel's in-flight slots, never a dispatch worker.
+public class WebhookNotificationChannel implements NotificationChannel {
+
+    public static final String NAME = "webhook";
+
+    private final HttpClient httpClient;
+    private final NotificationProperties.Webhook properties;
+    private final ObjectMapper objectMapper;
+
+    public WebhookNotificationChannel(HttpClient httpClient, NotificationProperties.Webhook properties, ObjectMapper objectMapper) {
+        this.httpClient = httpClient;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public int maxInFlight() {
+        return properties.maxInFlight();
+    }
+
+    @Override
+    public CompletableFuture<Void> send(List<AlertDigest> batch) {
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(new Payload(batch));
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(new NotificationDeliveryException("webhook payload not serializable", false, e));
+        }
+        HttpRequest request = HttpRequest.newBuilder(properties.url())
+                .timeout(properties.timeout())
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .thenAccept(response -> checkStatus(response.statusCode()));
+    }
+
+    // Throttling and server errors are worth retrying; any other client error will fail the same way again.
+    private static void checkStatus(int status) {
+        if (status >= 200 && status < 300) {
+            return;
+        }
+        boolean retryable = status == 408 || status == 429 || status >= 500;
+        throw new NotificationDeliveryException("webhook responded " + status, retryable);
+    }
+
+    record Payload(List<AlertDigest> digests) {
+    }
+}
@@ -0,0 +1,6 @@
+package com.portfolio.weatheralert.repository;
+
+import java.time.Instant;
+
+public record AlertBacklog(long pending, Instant oldestCreatedAt) {
+}
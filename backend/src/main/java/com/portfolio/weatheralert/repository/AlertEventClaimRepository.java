@@ -0,0 +1,12 @@
+package com.portfolio.weatheralert.repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public interface AlertEventClaimRepository {
+
+    // Must run inside a transaction: the row locks taken here are what keep concurrent claimers apart.
+    // Only users with an event created at or before readyBefore are claimed for, and then with all their claimable events.
+    List<UUID> claimPending(String channel, int limit, Instant now, Instant readyBefore, Instant leaseUntil);
+}
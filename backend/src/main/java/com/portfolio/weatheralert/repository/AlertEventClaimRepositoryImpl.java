@@ -0,0 +1,82 @@
+package com.portfolio.weatheralert.repository;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class AlertEventClaimRepositoryImpl implements AlertEventClaimRepository {
+
+    private static final String CLAIMABLE = """
+            ((e.status = 'PENDING' and (e.next_attempt_at is null or e.next_attempt_at <= ?))
+             or (e.status = 'SENDING' and e.claimed_until < ?))
+            """;
+
+    // A user becomes due once their oldest claimable event has waited out the digest window. Plain read, no locks.
+    private static final String SELECT_DUE_USERS = """
+            select distinct s.user_id
+              from alert_events e
+              join subscriptions s on s.id = e.subscription_id
+             where s.channel = ?
+               and e.created_at <= ?
+               and """ + CLAIMABLE + """
+             limit ?
+            """;
+
+    // All claimable events of the due users, younger ones included, so they go out in the same digest. Rows another
+    // claimer has locked are skipped rather than waited on, so concurrent workers (on this node or others) each get
+    // a disjoint batch. The subscription filter is a subquery rather than a join so that only alert_events is locked.
+    private static final String SELECT_CLAIMABLE = """
+            select e.id
+              from alert_events e
+             where e.subscription_id in (select id from subscriptions where channel = ? and user_id in (%s))
+               and """ + CLAIMABLE + """
+             order by e.created_at
+             limit ?
+               for update skip locked
+            """;
+
+    private static final String CLAIM = "update alert_events set status = 'SENDING', claimed_until = ? where id in (";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    AlertEventClaimRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<UUID> claimPending(String channel, int limit, Instant now, Instant readyBefore, Instant leaseUntil) {
+        OffsetDateTime at = now.atOffset(ZoneOffset.UTC);
+        List<UUID> users = jdbcTemplate.queryForList(
+                SELECT_DUE_USERS, UUID.class, channel, readyBefore.atOffset(ZoneOffset.UTC), at, at, limit);
+        if (users.isEmpty()) {
+            return List.of();
+        }
+
+        List<Object> selectArgs = new ArrayList<>(users.size() + 4);
+        selectArgs.add(channel);
+        selectArgs.addAll(users);
+        selectArgs.add(at);
+        selectArgs.add(at);
+        selectArgs.add(limit);
+        List<UUID> ids = jdbcTemplate.queryForList(SELECT_CLAIMABLE.formatted(placeholders(users.size())), UUID.class, selectArgs.toArray());
+        if (ids.isEmpty()) {
+            return ids;
+        }
+
+        List<Object> args = new ArrayList<>(ids.size() + 1);
+        args.add(leaseUntil.atOffset(ZoneOffset.UTC));
+        args.addAll(ids);
+        jdbcTemplate.update(CLAIM + placeholders(ids.size()) + ")", args.toArray());
+        return ids;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
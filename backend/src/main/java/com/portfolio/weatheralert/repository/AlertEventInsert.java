@@ -0,0 +1,18 @@
+package com.portfolio.weatheralert.repository;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import com.portfolio.weatheralert.domain.AlertStatus;
+import com.portfolio.weatheralert.domain.RuleType;
+
+public record AlertEventInsert(
+        UUID subscriptionId,
+        UUID snapshotId,
+        Instant forecastFor,
+        Integer leadHours,
+        RuleType ruleType,
+        double threshold,
+        AlertStatus status
+) {
+}
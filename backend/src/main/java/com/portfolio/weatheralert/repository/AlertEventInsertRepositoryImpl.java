@@ -0,0 +1,56 @@
+package com.portfolio.weatheralert.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class AlertEventInsertRepositoryImpl implements AlertEventInsertRepository {
+
+    private static final int MAX_ROWS_PER_STATEMENT = 1000;
+
+    private static final String INSERT = """
+            insert into alert_events (id, subscription_id, snapshot_id, forecast_for, lead_hours, rule_type, threshold, status, attempts, created_at)
+            values
+            """;
+
+    // Targeted at uk_alert_subscription_snapshot so any other violation still fails the insert.
+    // Forecast rows carry no snapshot and never collide; the trigger state keeps them from repeating.
+    private static final String ON_CONFLICT = "on conflict (subscription_id, snapshot_id) do nothing";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    AlertEventInsertRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int insertAll(List<AlertEventInsert> rows) {
+        int created = 0;
+        for (int from = 0; from < rows.size(); from += MAX_ROWS_PER_STATEMENT) {
+            List<AlertEventInsert> slice = rows.subList(from, Math.min(from + MAX_ROWS_PER_STATEMENT, rows.size()));
+            String sql = INSERT + String.join(",\n", Collections.nCopies(slice.size(), "(?, ?, ?, ?, ?, ?, ?, ?, 0, now())")) + "\n" + ON_CONFLICT;
+            created += jdbcTemplate.update(sql, ps -> bind(ps, slice));
+        }
+        return created;
+    }
+
+    private static void bind(PreparedStatement ps, List<AlertEventInsert> slice) throws SQLException {
+        int index = 1;
+        for (AlertEventInsert row : slice) {
+            ps.setObject(index++, UUID.randomUUID());
+            ps.setObject(index++, row.subscriptionId());
+            ps.setObject(index++, row.snapshotId());
+            ps.setObject(index++, row.forecastFor() == null ? null : row.forecastFor().atOffset(ZoneOffset.UTC));
+            ps.setObject(index++, row.leadHours(), Types.INTEGER);
+            ps.setString(index++, row.ruleType().name());
+            ps.setDouble(index++, row.threshold());
+            ps.setString(index++, row.status().name());
+        }
+    }
+}
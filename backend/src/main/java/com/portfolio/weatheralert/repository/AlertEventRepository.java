@@ -1,15 +1,56 @@
 package com.portfolio.weatheralert.repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 import com.portfolio.weatheralert.domain.AlertEvent;
-import com.portfolio.weatheralert.domain.AlertStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface AlertEventRepository extends JpaRepository<AlertEvent, UUID> {
-    List<AlertEvent> findTop50ByStatusOrderByCreatedAtAsc(AlertStatus status);
-
+public interface AlertEventRepository
+        extends JpaRepository<AlertEvent, UUID>, AlertEventInsertRepository, AlertEventClaimRepository {
+    // Everything a message is rendered from is fetched with the event, so rendering never lazy-loads.
+    @EntityGraph(attributePaths = {"subscription.location", "snapshot"})
     List<AlertEvent> findBySubscriptionUserIdOrderByCreatedAtDesc(UUID userId);
+
+    @EntityGraph(attributePaths = {"subscription.location", "subscription.user", "snapshot"})
+    List<AlertEvent> findByIdIn(Collection<UUID> ids);
+
+    // Served by idx_alert_status_created.
+    @Query("""
+            select new com.portfolio.weatheralert.repository.AlertBacklog(count(e), min(e.createdAt))
+              from AlertEvent e
+             where e.status = com.portfolio.weatheralert.domain.AlertStatus.PENDING
+            """)
+    AlertBacklog findPendingBacklog();
+
+    // Only rows still held by this claim: if the lease ran out and another node took them, that node finishes them.
+    @Modifying
+    @Query("""
+            update AlertEvent e
+               set e.status = com.portfolio.weatheralert.domain.AlertStatus.SENT, e.sentAt = :sentAt, e.claimedUntil = null
+             where e.id in :ids
+               and e.status = com.portfolio.weatheralert.domain.AlertStatus.SENDING
+               and e.claimedUntil = :leaseUntil
+            """)
+    int markSent(@Param("ids") Collection<UUID> ids, @Param("leaseUntil") Instant leaseUntil, @Param("sentAt") Instant sentAt);
+
+    // Same ownership check as markSent. Locked so a node whose claim finds the lease expired cannot take the rows
+    // over between this read and the update that records the failure.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            select e from AlertEvent e
+             where e.id in :ids
+               and e.status = com.portfolio.weatheralert.domain.AlertStatus.SENDING
+               and e.claimedUntil = :leaseUntil
+            """)
+    List<AlertEvent> findClaimed(@Param("ids") Collection<UUID> ids, @Param("leaseUntil") Instant leaseUntil);
 }
 
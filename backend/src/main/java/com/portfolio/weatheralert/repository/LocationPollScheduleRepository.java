@@ -0,0 +1,22 @@
+package com.portfolio.weatheralert.repository;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import com.portfolio.weatheralert.domain.LocationPollSchedule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface LocationPollScheduleRepository extends JpaRepository<LocationPollSchedule, UUID>, LocationPollScheduleUpsertRepository {
+
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            update LocationPollSchedule s
+               set s.recentReads = s.recentReads + :reads,
+                   s.nextPollAt = case when s.nextPollAt > :pollBy then :pollBy else s.nextPollAt end
+             where s.locationId = :locationId
+            """)
+    int recordReads(@Param("locationId") UUID locationId, @Param("reads") long reads, @Param("pollBy") Instant pollBy);
+}
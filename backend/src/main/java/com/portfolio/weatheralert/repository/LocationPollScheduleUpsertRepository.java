@@ -0,0 +1,18 @@
+package com.portfolio.weatheralert.repository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.UUID;
+
+import com.portfolio.weatheralert.domain.LocationPollSchedule;
+
+public interface LocationPollScheduleUpsertRepository {
+
+    // First schedules of locations that had none. Another node may have created one meanwhile; its row is kept.
+    void insertIfAbsent(Collection<LocationPollSchedule> schedules);
+
+    // Pushes each location's next poll out by minBackoff doubled per consecutive failure, capped at maxBackoff.
+    // Locations without a schedule get one, so they stop being due on every tick.
+    void recordFailedPolls(Collection<UUID> locationIds, Instant now, Duration minBackoff, Duration maxBackoff);
+}
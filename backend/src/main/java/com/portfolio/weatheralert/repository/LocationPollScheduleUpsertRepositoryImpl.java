@@ -0,0 +1,82 @@
+package com.portfolio.weatheralert.repository;
+
+import java.sql.Types;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import com.portfolio.weatheralert.domain.LocationPollSchedule;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class LocationPollScheduleUpsertRepositoryImpl implements LocationPollScheduleUpsertRepository {
+
+    private static final String INSERT_IF_ABSENT = """
+            insert into location_poll_schedules
+                (location_id, next_poll_at, last_polled_at, poll_interval_seconds, recent_reads, volatility,
+                 last_temperature_c, last_precipitation_mm, failed_polls)
+            values (?, ?, ?, ?, ?, ?, ?, ?, 0)
+            on conflict (location_id) do nothing
+            """;
+
+    // last_polled_at is left alone on conflict: it marks the last successful poll, which volatility is measured from.
+    private static final String RECORD_FAILED_POLL = """
+            insert into location_poll_schedules as s
+                (location_id, next_poll_at, last_polled_at, poll_interval_seconds, failed_polls)
+            values (?, ?, ?, ?, 1)
+            on conflict (location_id) do update
+                set failed_polls = s.failed_polls + 1,
+                    next_poll_at = greatest(s.next_poll_at,
+                                            excluded.last_polled_at
+                                            + make_interval(secs => least(? * power(2, s.failed_polls), ?)))
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    LocationPollScheduleUpsertRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void insertIfAbsent(Collection<LocationPollSchedule> schedules) {
+        if (schedules.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>(schedules.size());
+        for (LocationPollSchedule schedule : schedules) {
+            rows.add(new Object[]{
+                    schedule.getId(),
+                    schedule.getNextPollAt().atOffset(ZoneOffset.UTC),
+                    schedule.getLastPolledAt().atOffset(ZoneOffset.UTC),
+                    schedule.getPollIntervalSeconds(),
+                    schedule.getRecentReads(),
+                    schedule.getVolatility(),
+                    schedule.getLastTemperatureC(),
+                    schedule.getLastPrecipitationMm()
+            });
+        }
+        jdbcTemplate.batchUpdate(INSERT_IF_ABSENT, rows, new int[]{
+                Types.OTHER, Types.TIMESTAMP_WITH_TIMEZONE, Types.TIMESTAMP_WITH_TIMEZONE, Types.INTEGER,
+                Types.BIGINT, Types.DOUBLE, Types.DOUBLE, Types.DOUBLE});
+    }
+
+    @Override
+    public void recordFailedPolls(Collection<UUID> locationIds, Instant now, Duration minBackoff, Duration maxBackoff) {
+        if (locationIds.isEmpty()) {
+            return;
+        }
+        OffsetDateTime at = now.atOffset(ZoneOffset.UTC);
+        OffsetDateTime firstRetry = now.plus(minBackoff).atOffset(ZoneOffset.UTC);
+        List<Object[]> rows = new ArrayList<>(locationIds.size());
+        for (UUID locationId : locationIds) {
+            rows.add(new Object[]{
+                    locationId, firstRetry, at, (int) minBackoff.toSeconds(), minBackoff.toSeconds(), maxBackoff.toSeconds()
+            });
+        }
+        jdbcTemplate.batchUpdate(RECORD_FAILED_POLL, rows);
+    }
+}
@@ -1,10 +1,34 @@
 package com.portfolio.weatheralert.repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 import com.portfolio.weatheralert.domain.Location;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface LocationRepository extends JpaRepository<Location, UUID> {
-}
 
+    // Locations that have never been polled have no schedule row yet and are always due.
+    // Most overdue first, so locations deferred for lack of provider budget go ahead of the next window's work.
+    @Query("""
+            select l from Location l
+              left join LocationPollSchedule s on s.locationId = l.id
+             where s.nextPollAt is null or s.nextPollAt <= :now
+             order by s.nextPollAt asc nulls first
+            """)
+    List<Location> findDueForPoll(@Param("now") Instant now);
+
+    // The same check narrowed to locations already picked for a shard, to drop the ones polled since they were picked.
+    @Query("""
+            select l from Location l
+              left join LocationPollSchedule s on s.locationId = l.id
+             where l.id in :ids
+               and (s.nextPollAt is null or s.nextPollAt <= :now)
+             order by s.nextPollAt asc nulls first
+            """)
+    List<Location> findDueForPoll(@Param("now") Instant now, @Param("ids") Collection<UUID> ids);
+}
@@ -0,0 +1,6 @@
+package com.portfolio.weatheralert.repository;
+
+import java.util.UUID;
+
+public record LocationSubscriptionCount(UUID locationId, long subscriptions) {
+}
@@ -0,0 +1,7 @@
+package com.portfolio.weatheralert.repository;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record PendingEvaluation(UUID snapshotId, UUID locationId, Instant createdAt) {
+}
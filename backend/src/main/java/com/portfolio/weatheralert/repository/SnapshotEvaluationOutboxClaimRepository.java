@@ -0,0 +1,15 @@
+package com.portfolio.weatheralert.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface SnapshotEvaluationOutboxClaimRepository {
+
+    // Leases up to limit rows created before readyBefore that nobody holds, oldest first.
+    List<PendingEvaluation> claimPending(int limit, Instant readyBefore, Instant now, Instant leaseUntil);
+
+    // Leases the given rows unless someone else holds them; returns the ones this caller now holds.
+    List<UUID> lease(Collection<UUID> snapshotIds, Instant now, Instant leaseUntil);
+}
@@ -0,0 +1,78 @@
+package com.portfolio.weatheralert.repository;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class SnapshotEvaluationOutboxClaimRepositoryImpl implements SnapshotEvaluationOutboxClaimRepository {
+
+    // One statement, so the row locks only have to last as long as the update itself: rows another relay is
+    // claiming right now are skipped, and rows it has leased are filtered out until their lease expires.
+    // Materialized so the limited, locking select runs exactly once; as an IN subquery it can be rescanned.
+    private static final String CLAIM = """
+            with claimable as materialized (
+                select snapshot_id
+                  from snapshot_evaluation_outbox
+                 where created_at < ?
+                   and (claimed_until is null or claimed_until < ?)
+                 order by created_at
+                 limit ?
+                   for update skip locked
+            )
+            update snapshot_evaluation_outbox o
+               set claimed_until = ?
+              from claimable c
+             where o.snapshot_id = c.snapshot_id
+            returning o.snapshot_id, o.location_id, o.created_at
+            """;
+
+    private static final String LEASE = """
+            update snapshot_evaluation_outbox
+               set claimed_until = ?
+             where snapshot_id = ?
+               and (claimed_until is null or claimed_until < ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    SnapshotEvaluationOutboxClaimRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<PendingEvaluation> claimPending(int limit, Instant readyBefore, Instant now, Instant leaseUntil) {
+        List<PendingEvaluation> claimed = jdbcTemplate.query(CLAIM, (rs, rowNum) -> new PendingEvaluation(
+                        rs.getObject("snapshot_id", UUID.class),
+                        rs.getObject("location_id", UUID.class),
+                        rs.getObject("created_at", OffsetDateTime.class).toInstant()),
+                readyBefore.atOffset(ZoneOffset.UTC), now.atOffset(ZoneOffset.UTC), limit, leaseUntil.atOffset(ZoneOffset.UTC));
+        // RETURNING does not keep the subquery's order.
+        return claimed.stream().sorted(Comparator.comparing(PendingEvaluation::createdAt)).toList();
+    }
+
+    @Override
+    public List<UUID> lease(Collection<UUID> snapshotIds, Instant now, Instant leaseUntil) {
+        if (snapshotIds.isEmpty()) {
+            return List.of();
+        }
+        List<UUID> ids = List.copyOf(snapshotIds);
+        OffsetDateTime until = leaseUntil.atOffset(ZoneOffset.UTC);
+        OffsetDateTime current = now.atOffset(ZoneOffset.UTC);
+        int[] counts = jdbcTemplate.batchUpdate(LEASE, ids.stream().map(id -> new Object[]{until, id, current}).toList());
+
+        List<UUID> leased = new ArrayList<>(ids.size());
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                leased.add(ids.get(i));
+            }
+        }
+        return leased;
+    }
+}
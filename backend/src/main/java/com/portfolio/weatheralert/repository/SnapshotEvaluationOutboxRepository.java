@@ -0,0 +1,20 @@
+package com.portfolio.weatheralert.repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import com.portfolio.weatheralert.domain.SnapshotEvaluationOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface SnapshotEvaluationOutboxRepository
+        extends JpaRepository<SnapshotEvaluationOutbox, UUID>, SnapshotEvaluationOutboxClaimRepository {
+
+    Optional<SnapshotEvaluationOutbox> findFirstByOrderByCreatedAtAsc();
+
+    @Modifying
+    @Query("delete from SnapshotEvaluationOutbox o where o.snapshotId = :snapshotId")
+    int deleteBySnapshotId(@Param("snapshotId") UUID snapshotId);
+}
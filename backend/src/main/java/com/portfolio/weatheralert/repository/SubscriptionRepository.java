@@ -1,12 +1,38 @@
 package com.portfolio.weatheralert.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 import com.portfolio.weatheralert.domain.Subscription;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface SubscriptionRepository extends JpaRepository<Subscription, UUID> {
     List<Subscription> findByLocationIdAndEnabledTrue(UUID locationId);
+
+    @Query("""
+            select new com.portfolio.weatheralert.repository.LocationSubscriptionCount(s.location.id, count(s))
+              from Subscription s
+             where s.enabled = true and s.location.id in :locationIds
+             group by s.location.id
+            """)
+    List<LocationSubscriptionCount> countEnabledByLocationIds(@Param("locationIds") Collection<UUID> locationIds);
+
+    @Query("""
+            select new com.portfolio.weatheralert.repository.SubscriptionThreshold(s.id, s.location.id, s.ruleType, s.threshold)
+              from Subscription s
+             where s.enabled = true and s.leadHours is null
+            """)
+    List<SubscriptionThreshold> findAllEnabledThresholds();
+
+    @Query("""
+            select new com.portfolio.weatheralert.repository.SubscriptionThreshold(
+                       s.id, s.location.id, s.ruleType, s.threshold, s.leadHours)
+              from Subscription s
+             where s.enabled = true and s.leadHours is not null
+            """)
+    List<SubscriptionThreshold> findAllEnabledForecastThresholds();
 }
 
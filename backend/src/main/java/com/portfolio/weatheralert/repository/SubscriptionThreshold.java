@@ -0,0 +1,13 @@
+package com.portfolio.weatheralert.repository;
+
+import java.util.UUID;
+
+import com.portfolio.weatheralert.domain.RuleType;
+
+// leadHours is null for subscriptions matched against observed snapshots.
+public record SubscriptionThreshold(UUID subscriptionId, UUID locationId, RuleType ruleType, double threshold, Integer leadHours) {
+
+    public SubscriptionThreshold(UUID subscriptionId, UUID locationId, RuleType ruleType, double threshold) {
+        this(subscriptionId, locationId, ruleType, threshold, null);
+    }
+}
@@ -0,0 +1,24 @@
+package com.portfolio.weatheralert.repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import com.portfolio.weatheralert.domain.SubscriptionTriggerState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface SubscriptionTriggerStateRepository
+        extends JpaRepository<SubscriptionTriggerState, UUID>, SubscriptionTriggerStateUpdateRepository {
+
+    @Query("""
+            select new com.portfolio.weatheralert.repository.TriggerStateRow(
+                       s.id, s.location.id, s.ruleType, s.threshold, s.leadHours, t.armed, t.lastFiredAt)
+              from SubscriptionTriggerState t
+              join Subscription s on s.id = t.subscriptionId
+             where s.enabled = true
+               and (t.armed = false or t.lastFiredAt > :since)
+            """)
+    List<TriggerStateRow> findActiveStates(@Param("since") Instant since);
+}
@@ -0,0 +1,14 @@
+package com.portfolio.weatheralert.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface SubscriptionTriggerStateUpdateRepository {
+
+    // Returns the ids this call actually fired; the rest were disarmed or cooling down in the database.
+    List<UUID> fireIfArmed(List<UUID> subscriptionIds, Instant firedAt, Instant cooldownCutoff);
+
+    void rearm(Collection<UUID> subscriptionIds);
+}
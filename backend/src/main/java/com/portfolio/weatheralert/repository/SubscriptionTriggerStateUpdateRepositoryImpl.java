@@ -0,0 +1,69 @@
+package com.portfolio.weatheralert.repository;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class SubscriptionTriggerStateUpdateRepositoryImpl implements SubscriptionTriggerStateUpdateRepository {
+
+    // Compare-and-set: only one node can win the armed -> fired transition for a subscription.
+    private static final String FIRE = """
+            update subscription_trigger_states
+               set armed = false, last_fired_at = ?
+             where subscription_id = ?
+               and armed = true
+               and (last_fired_at is null or last_fired_at <= ?)
+            """;
+
+    // Rows another node already re-armed are left alone.
+    private static final String REARM = """
+            update subscription_trigger_states
+               set armed = true
+             where subscription_id = ?
+               and armed = false
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    SubscriptionTriggerStateUpdateRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<UUID> fireIfArmed(List<UUID> subscriptionIds, Instant firedAt, Instant cooldownCutoff) {
+        if (subscriptionIds.isEmpty()) {
+            return List.of();
+        }
+        OffsetDateTime fired = firedAt.atOffset(ZoneOffset.UTC);
+        OffsetDateTime cutoff = cooldownCutoff.atOffset(ZoneOffset.UTC);
+        List<Object[]> args = subscriptionIds.stream()
+                .map(id -> new Object[]{fired, id, cutoff})
+                .toList();
+
+        return applied(subscriptionIds, jdbcTemplate.batchUpdate(FIRE, args));
+    }
+
+    @Override
+    public void rearm(Collection<UUID> subscriptionIds) {
+        if (subscriptionIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(REARM, subscriptionIds.stream().map(id -> new Object[]{id}).toList());
+    }
+
+    private static List<UUID> applied(List<UUID> subscriptionIds, int[] counts) {
+        List<UUID> applied = new ArrayList<>(subscriptionIds.size());
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                applied.add(subscriptionIds.get(i));
+            }
+        }
+        return applied;
+    }
+}
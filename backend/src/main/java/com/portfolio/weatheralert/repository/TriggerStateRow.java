@@ -0,0 +1,17 @@
+package com.portfolio.weatheralert.repository;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import com.portfolio.weatheralert.domain.RuleType;
+
+public record TriggerStateRow(
+        UUID subscriptionId,
+        UUID locationId,
+        RuleType ruleType,
+        double threshold,
+        Integer leadHours,
+        boolean armed,
+        Instant lastFiredAt
+) {
+}
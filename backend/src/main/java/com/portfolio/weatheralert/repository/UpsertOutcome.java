@@ -0,0 +1,7 @@
+package com.portfolio.weatheralert.repository;
+
+public enum UpsertOutcome {
+    INSERTED,
+    UPDATED,
+    UNCHANGED
+}
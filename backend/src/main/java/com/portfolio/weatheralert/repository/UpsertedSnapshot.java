@@ -0,0 +1,23 @@
+package com.portfolio.weatheralert.repository;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// For written rows the values are what the row holds after the upsert (incoming nulls keep stored values);
+// unchanged rows carry none.
+public record UpsertedSnapshot(
+        UUID id,
+        UUID locationId,
+        Instant observedAt,
+        UpsertOutcome outcome,
+        Double temperatureC,
+        Double apparentTemperatureC,
+        Double precipitationMm,
+        Integer weatherCode,
+        String source
+) {
+
+    static UpsertedSnapshot unchanged(UUID locationId, Instant observedAt) {
+        return new UpsertedSnapshot(null, locationId, observedAt, UpsertOutcome.UNCHANGED, null, null, null, null, null);
+    }
+}
@@ -7,7 +7,7 @@ import java.util.UUID;
 import com.portfolio.weatheralert.domain.WeatherSnapshot;
 import org.springframework.data.jpa.repository.JpaRepository;
 
-public interface WeatherSnapshotRepository extends JpaRepository<WeatherSnapshot, UUID> {
+public interface WeatherSnapshotRepository extends JpaRepository<WeatherSnapshot, UUID>, WeatherSnapshotUpsertRepository {
     Optional<WeatherSnapshot> findTopByLocationIdOrderByObservedAtDesc(UUID locationId);
 
     Optional<WeatherSnapshot> findByLocationIdAndObservedAtAndSource(UUID locationId, Instant observedAt, String source);
@@ -0,0 +1,15 @@
+package com.portfolio.weatheralert.repository;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record WeatherSnapshotUpsert(
+        UUID locationId,
+        Instant observedAt,
+        Double temperatureC,
+        Double apparentTemperatureC,
+        Double precipitationMm,
+        Integer weatherCode,
+        String source
+) {
+}
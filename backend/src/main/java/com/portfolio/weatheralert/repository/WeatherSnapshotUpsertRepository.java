@@ -0,0 +1,7 @@
+package com.portfolio.weatheralert.repository;
+
+import java.util.List;
+
+public interface WeatherSnapshotUpsertRepository {
+    List<UpsertedSnapshot> upsertAll(List<WeatherSnapshotUpsert> rows);
+}
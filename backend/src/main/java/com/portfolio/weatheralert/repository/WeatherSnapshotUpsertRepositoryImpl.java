@@ -0,0 +1,117 @@
+package com.portfolio.weatheralert.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class WeatherSnapshotUpsertRepositoryImpl implements WeatherSnapshotUpsertRepository {
+
+    private static final int MAX_ROWS_PER_STATEMENT = 1000;
+
+    private static final String INSERT = """
+            insert into weather_snapshots as s
+                (id, location_id, observed_at, temperature_c, apparent_temperature_c, precipitation_mm, weather_code, source)
+            values
+            """;
+
+    // Incoming nulls keep the stored value, mirroring WeatherSnapshot.updateValues; the WHERE clause
+    // suppresses no-op updates so unchanged rows are simply not returned.
+    private static final String ON_CONFLICT = """
+            on conflict on constraint uk_weather_location_observed_source do update
+                set temperature_c          = coalesce(excluded.temperature_c, s.temperature_c),
+                    apparent_temperature_c = coalesce(excluded.apparent_temperature_c, s.apparent_temperature_c),
+                    precipitation_mm       = coalesce(excluded.precipitation_mm, s.precipitation_mm),
+                    weather_code           = coalesce(excluded.weather_code, s.weather_code)
+                where (s.temperature_c, s.apparent_temperature_c, s.precipitation_mm, s.weather_code)
+                      is distinct from
+                      (coalesce(excluded.temperature_c, s.temperature_c),
+                       coalesce(excluded.apparent_temperature_c, s.apparent_temperature_c),
+                       coalesce(excluded.precipitation_mm, s.precipitation_mm),
+                       coalesce(excluded.weather_code, s.weather_code))
+            returning s.id, s.location_id, s.observed_at, s.source, (s.xmax = 0) as inserted,
+                      s.temperature_c, s.apparent_temperature_c, s.precipitation_mm, s.weather_code
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    WeatherSnapshotUpsertRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<UpsertedSnapshot> upsertAll(List<WeatherSnapshotUpsert> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+
+        // Postgres rejects a statement that touches the same conflict key twice, so the last row wins.
+        Map<Key, WeatherSnapshotUpsert> distinct = new LinkedHashMap<>();
+        for (WeatherSnapshotUpsert row : rows) {
+            distinct.put(Key.of(row), row);
+        }
+
+        Map<Key, UpsertedSnapshot> written = new HashMap<>();
+        List<WeatherSnapshotUpsert> values = new ArrayList<>(distinct.values());
+        for (int from = 0; from < values.size(); from += MAX_ROWS_PER_STATEMENT) {
+            List<WeatherSnapshotUpsert> slice = values.subList(from, Math.min(from + MAX_ROWS_PER_STATEMENT, values.size()));
+            for (UpsertedSnapshot returned : upsertSlice(slice)) {
+                written.put(new Key(returned.locationId(), returned.observedAt(), returned.source()), returned);
+            }
+        }
+
+        List<UpsertedSnapshot> results = new ArrayList<>(rows.size());
+        for (WeatherSnapshotUpsert row : rows) {
+            UpsertedSnapshot result = written.get(Key.of(row));
+            results.add(result != null ? result : UpsertedSnapshot.unchanged(row.locationId(), row.observedAt()));
+        }
+        return results;
+    }
+
+    private List<UpsertedSnapshot> upsertSlice(List<WeatherSnapshotUpsert> slice) {
+        String sql = INSERT + String.join(",\n", Collections.nCopies(slice.size(), "(?, ?, ?, ?, ?, ?, ?, ?)")) + "\n" + ON_CONFLICT;
+
+        return jdbcTemplate.query(sql, ps -> bind(ps, slice), (rs, rowNum) -> new UpsertedSnapshot(
+                rs.getObject("id", UUID.class),
+                rs.getObject("location_id", UUID.class),
+                rs.getObject("observed_at", OffsetDateTime.class).toInstant(),
+                rs.getBoolean("inserted") ? UpsertOutcome.INSERTED : UpsertOutcome.UPDATED,
+                rs.getObject("temperature_c", Double.class),
+                rs.getObject("apparent_temperature_c", Double.class),
+                rs.getObject("precipitation_mm", Double.class),
+                rs.getObject("weather_code", Integer.class),
+                rs.getString("source")
+        ));
+    }
+
+    private static void bind(PreparedStatement ps, List<WeatherSnapshotUpsert> slice) throws SQLException {
+        int index = 1;
+        for (WeatherSnapshotUpsert row : slice) {
+            ps.setObject(index++, UUID.randomUUID());
+            ps.setObject(index++, row.locationId());
+            ps.setObject(index++, row.observedAt().atOffset(ZoneOffset.UTC));
+            ps.setObject(index++, row.temperatureC(), Types.DOUBLE);
+            ps.setObject(index++, row.apparentTemperatureC(), Types.DOUBLE);
+            ps.setObject(index++, row.precipitationMm(), Types.DOUBLE);
+            ps.setObject(index++, row.weatherCode(), Types.INTEGER);
+            ps.setString(index++, row.source());
+        }
+    }
+
+    private record Key(UUID locationId, Instant observedAt, String source) {
+        static Key of(WeatherSnapshotUpsert row) {
+            return new Key(row.locationId(), row.observedAt(), row.source());
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.portfolio.weatheralert.service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import com.portfolio.weatheralert.notification.AlertDigest;
+import com.portfolio.weatheralert.notification.AlertNotification;
+
+// One claimed batch and the lease it holds. The lease doubles as the claim's token: recording the outcome only
+// touches rows whose claimed_until still equals it, so a batch taken over after its lease ran out is left alone.
+public record AlertClaim(Instant leaseUntil, List<AlertDigest> digests) {
+
+    public List<UUID> alertIds() {
+        return digests.stream()
+                .flatMap(digest -> digest.alerts().stream())
+                .map(AlertNotification::alertId)
+                .toList();
+    }
+}
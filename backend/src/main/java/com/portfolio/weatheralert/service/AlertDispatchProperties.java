@@ -0,0 +1,15 @@
+package com.portfolio.weatheralert.service;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "alert.dispatch")
+public record AlertDispatchProperties(
+        int workers,
+        int batchSize,
+        Duration lease,
+        Duration idleBackoff,
+        Duration digestWindow
+) {
+}
@@ -1,45 +1,91 @@
 package com.portfolio.weatheralert.service;
 
 import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 import com.portfolio.weatheralert.domain.AlertEvent;
-import com.portfolio.weatheralert.domain.AlertStatus;
+import com.portfolio.weatheralert.domain.AppUser;
+import com.portfolio.weatheralert.notification.AlertDigest;
+import com.portfolio.weatheralert.notification.AlertNotification;
+import com.portfolio.weatheralert.notification.NotificationProperties;
 import com.portfolio.weatheralert.repository.AlertEventRepository;
-import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class AlertDispatchService {
 
-    private static final Logger log = LoggerFactory.getLogger(AlertDispatchService.class);
+    private static final int MAX_ERROR_LENGTH = 255;
 
     private final AlertEventRepository alertEventRepository;
+    private final AlertMessageRenderer alertMessageRenderer;
+    private final AlertDispatchProperties properties;
+    private final NotificationProperties notificationProperties;
     private final Clock clock;
 
-    public AlertDispatchService(AlertEventRepository alertEventRepository, Clock clock) {
+    public AlertDispatchService(AlertEventRepository alertEventRepository,
+                                AlertMessageRenderer alertMessageRenderer,
+                                AlertDispatchProperties properties,
+                                NotificationProperties notificationProperties,
+                                Clock clock) {
         this.alertEventRepository = alertEventRepository;
+        this.alertMessageRenderer = alertMessageRenderer;
+        this.properties = properties;
+        this.notificationProperties = notificationProperties;
         this.clock = clock;
     }
 
-    @Scheduled(fixedDelayString = "PT30S")
-    @SchedulerLock(name = "alert_dispatch", lockAtMostFor = "PT2M", lockAtLeastFor = "PT5S")
+    // Claims are short transactions; sending happens outside them, protected by the lease instead of row locks.
+    // Each event keeps its own status; only delivery is coalesced into one digest per user.
     @Transactional
-    public void dispatchPending() {
-        List<AlertEvent> pending = alertEventRepository.findTop50ByStatusOrderByCreatedAtAsc(AlertStatus.PENDING);
-        Instant sentAt = clock.instant();
-
-        for (AlertEvent event : pending) {
-            log.info("ALERT_SEND id={} message={}", event.getId(), event.getMessage());
-            event.markSent(sentAt);
+    public AlertClaim claimBatch(String channel, int limit) {
+        Instant now = clock.instant();
+        // Truncated to what timestamptz stores, so the lease read back from the row compares equal.
+        Instant leaseUntil = now.plus(properties.lease()).truncatedTo(ChronoUnit.MICROS);
+        List<UUID> ids = alertEventRepository.claimPending(
+                channel, limit, now, now.minus(properties.digestWindow()), leaseUntil);
+        if (ids.isEmpty()) {
+            return new AlertClaim(leaseUntil, List.of());
+        }
+        Map<AppUser, List<AlertNotification>> byUser = new LinkedHashMap<>();
+        for (AlertEvent event : alertEventRepository.findByIdIn(ids)) {
+            byUser.computeIfAbsent(event.getSubscription().getUser(), user -> new ArrayList<>())
+                    .add(new AlertNotification(event.getId(), alertMessageRenderer.render(event), event.getCreatedAt()));
         }
-        if (!pending.isEmpty()) {
-            log.info("ALERT_DISPATCHED count={}", pending.size());
+        return new AlertClaim(leaseUntil, byUser.entrySet().stream()
+                .map(entry -> new AlertDigest(entry.getKey().getId(), entry.getKey().getEmail(), entry.getValue()))
+                .toList());
+    }
+
+    @Transactional
+    public int markSent(Collection<UUID> ids, Instant leaseUntil) {
+        return alertEventRepository.markSent(ids, leaseUntil, clock.instant());
+    }
+
+    // Retries back off exponentially up to maxRetryBackoff; a permanent failure or the last attempt dead-letters.
+    @Transactional
+    public void markFailed(Collection<UUID> ids, Instant leaseUntil, String error, boolean retryable) {
+        Instant now = clock.instant();
+        String lastError = error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        for (AlertEvent event : alertEventRepository.findClaimed(ids, leaseUntil)) {
+            if (!retryable || event.getAttempts() + 1 >= notificationProperties.maxAttempts()) {
+                event.deadLetter(lastError);
+            } else {
+                event.retryAt(now.plus(backoff(event.getAttempts())), lastError);
+            }
         }
     }
+
+    private Duration backoff(int previousAttempts) {
+        Duration backoff = notificationProperties.retryBackoff().multipliedBy(1L << Math.min(previousAttempts, 20));
+        return backoff.compareTo(notificationProperties.maxRetryBackoff()) > 0 ? notificationProperties.maxRetryBackoff() : backoff;
+    }
 }
@@ -0,0 +1,148 @@
+package com.portfolio.weatheralert.service;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+import com.portfolio.weatheralert.notification.AlertDigest;
+import com.portfolio.weatheralert.notification.AlertNotification;
+import com.portfolio.weatheralert.notification.NotificationChannel;
+import com.portfolio.weatheralert.notification.NotificationDeliveryException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+// Every node runs a few workers that keep claiming batches while there is a backlog and only back off once a claim
+// comes back empty. Claims use SKIP LOCKED, so workers across the cluster never block on or double-send a row.
+// Workers only claim and hand off: each channel sends asynchronously within its own in-flight limit, and a channel
+// that is at its limit is simply not claimed for, so a slow endpoint never holds up delivery through the others.
+@Component
+public class AlertDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(AlertDispatcher.class);
+
+    private final AlertDispatchService alertDispatchService;
+    private final AlertDispatchProperties properties;
+    private final AlertPipelineMetrics alertPipelineMetrics;
+    private final List<Lane> lanes;
+    private final ExecutorService workers;
+
+    public AlertDispatcher(AlertDispatchService alertDispatchService,
+                           List<NotificationChannel> channels,
+                           AlertDispatchProperties properties,
+                           AlertPipelineMetrics alertPipelineMetrics) {
+        this.alertDispatchService = alertDispatchService;
+        this.properties = properties;
+        this.alertPipelineMetrics = alertPipelineMetrics;
+        this.lanes = channels.stream()
+                .map(channel -> new Lane(channel, new Semaphore(channel.maxInFlight())))
+                .toList();
+        this.workers = Executors.newFixedThreadPool(Math.max(properties.workers(), 1), new CustomizableThreadFactory("alert-dispatch-"));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        for (int i = 0; i < properties.workers(); i++) {
+            workers.execute(this::run);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        // A batch interrupted mid-send stays SENDING until its lease runs out, then another worker retries it.
+        workers.shutdownNow();
+    }
+
+    // Claims one batch for every channel that has a free in-flight slot and hands each off; returns how many alerts
+    // were claimed. Delivery outcomes are recorded when the channel's future completes.
+    public int drainOnce() {
+        int claimed = 0;
+        for (Lane lane : lanes) {
+            if (!lane.permits().tryAcquire()) {
+                continue;
+            }
+            AlertClaim claim;
+            try {
+                claim = alertDispatchService.claimBatch(lane.channel().name(), properties.batchSize());
+            } catch (RuntimeException e) {
+                lane.permits().release();
+                throw e;
+            }
+            if (claim.digests().isEmpty()) {
+                lane.permits().release();
+                continue;
+            }
+            List<UUID> ids = claim.alertIds();
+            claimed += ids.size();
+            deliver(lane, claim, ids);
+        }
+        return claimed;
+    }
+
+    private void deliver(Lane lane, AlertClaim claim, List<UUID> ids) {
+        List<AlertDigest> batch = claim.digests();
+        CompletableFuture<Void> sending;
+        try {
+            sending = lane.channel().send(batch);
+        } catch (RuntimeException e) {
+            sending = CompletableFuture.failedFuture(e);
+        }
+        sending.whenComplete((ignored, failure) -> {
+            try {
+                if (failure == null) {
+                    alertDispatchService.markSent(ids, claim.leaseUntil());
+                    alertPipelineMetrics.alertsSent(batch.stream()
+                            .flatMap(digest -> digest.alerts().stream())
+                            .map(AlertNotification::createdAt)
+                            .toList());
+                    log.debug("ALERT_DISPATCHED channel={} digests={} count={}", lane.channel().name(), batch.size(), ids.size());
+                } else {
+                    Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+                    boolean retryable = !(cause instanceof NotificationDeliveryException delivery) || delivery.isRetryable();
+                    alertDispatchService.markFailed(ids, claim.leaseUntil(), cause.toString(), retryable);
+                    log.warn("alert delivery failed channel={} count={} retryable={} err={}",
+                            lane.channel().name(), ids.size(), retryable, cause.toString());
+                }
+            } catch (RuntimeException e) {
+                // The rows stay SENDING and are claimed again once the lease runs out.
+                log.warn("alert delivery outcome not recorded channel={} count={} err={}", lane.channel().name(), ids.size(), e.toString());
+            } finally {
+                lane.permits().release();
+            }
+        });
+    }
+
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                if (drainOnce() == 0) {
+                    Thread.sleep(properties.idleBackoff().toMillis());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.warn("alert dispatch failed err={}", e.toString());
+                sleepQuietly();
+            }
+        }
+    }
+
+    private void sleepQuietly() {
+        try {
+            Thread.sleep(properties.idleBackoff().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Lane(NotificationChannel channel, Semaphore permits) {
+    }
+}
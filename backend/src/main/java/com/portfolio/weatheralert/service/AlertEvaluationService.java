@@ -1,65 +1,100 @@
 package com.portfolio.weatheralert.service;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 
-import com.portfolio.weatheralert.domain.AlertEvent;
 import com.portfolio.weatheralert.domain.AlertStatus;
 import com.portfolio.weatheralert.domain.RuleType;
-import com.portfolio.weatheralert.domain.Subscription;
 import com.portfolio.weatheralert.domain.WeatherSnapshot;
+import com.portfolio.weatheralert.repository.AlertEventInsert;
 import com.portfolio.weatheralert.repository.AlertEventRepository;
-import com.portfolio.weatheralert.repository.SubscriptionRepository;
+import com.portfolio.weatheralert.repository.SnapshotEvaluationOutboxRepository;
+import com.portfolio.weatheralert.repository.SubscriptionThreshold;
+import com.portfolio.weatheralert.repository.WeatherSnapshotRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class AlertEvaluationService {
 
-    private final SubscriptionRepository subscriptionRepository;
+    private final SubscriptionIndex subscriptionIndex;
+    private final AlertTriggerTracker alertTriggerTracker;
     private final AlertEventRepository alertEventRepository;
+    private final WeatherSnapshotRepository weatherSnapshotRepository;
+    private final SnapshotEvaluationOutboxRepository outboxRepository;
+    private final AlertPipelineMetrics alertPipelineMetrics;
 
-    public AlertEvaluationService(SubscriptionRepository subscriptionRepository, AlertEventRepository alertEventRepository) {
-        this.subscriptionRepository = subscriptionRepository;
+    public AlertEvaluationService(SubscriptionIndex subscriptionIndex,
+                                  AlertTriggerTracker alertTriggerTracker,
+                                  AlertEventRepository alertEventRepository,
+                                  WeatherSnapshotRepository weatherSnapshotRepository,
+                                  SnapshotEvaluationOutboxRepository outboxRepository,
+                                  AlertPipelineMetrics alertPipelineMetrics) {
+        this.subscriptionIndex = subscriptionIndex;
+        this.alertTriggerTracker = alertTriggerTracker;
         this.alertEventRepository = alertEventRepository;
+        this.weatherSnapshotRepository = weatherSnapshotRepository;
+        this.outboxRepository = outboxRepository;
+        this.alertPipelineMetrics = alertPipelineMetrics;
     }
 
+    // Evaluates a snapshot handed over by ingest and clears its outbox row in the same transaction,
+    // so a crash in between means one more evaluation rather than a lost one.
     @Transactional
-    public int evaluateSnapshot(WeatherSnapshot snapshot) {
-        List<Subscription> subscriptions = subscriptionRepository
-                .findByLocationIdAndEnabledTrue(snapshot.getLocation().getId());
+    public int evaluateReady(UUID snapshotId) {
+        int created = weatherSnapshotRepository.findById(snapshotId)
+                .map(this::evaluateSnapshot)
+                .orElse(0);
+        outboxRepository.deleteBySnapshotId(snapshotId);
+        return created;
+    }
 
-        int created = 0;
-        for (Subscription subscription : subscriptions) {
-            if (!shouldTrigger(subscription, snapshot)) {
-                continue;
-            }
+    @Transactional
+    public int evaluateSnapshot(WeatherSnapshot snapshot) {
+        UUID locationId = snapshot.getLocation().getId();
+        List<SubscriptionThreshold> matches = subscriptionIndex.match(
+                locationId, snapshot.getTemperatureC(), snapshot.getPrecipitationMm());
+        AlertTriggerTracker.Readings readings = (ruleType, leadHours) -> leadHours != null ? null
+                : ruleType == RuleType.PRECIP_ABOVE ? snapshot.getPrecipitationMm() : snapshot.getTemperatureC();
+        // Runs even without matches: a reading back inside the hysteresis band re-arms fired subscriptions.
+        List<SubscriptionThreshold> firing = alertTriggerTracker.fire(locationId, readings, snapshot.getObservedAt(), matches);
 
-            String message = buildMessage(subscription, snapshot);
-            alertEventRepository.save(new AlertEvent(subscription, snapshot, AlertStatus.PENDING, message));
-            created++;
+        if (firing.isEmpty()) {
+            return 0;
         }
 
+        List<AlertEventInsert> rows = new ArrayList<>(firing.size());
+        for (SubscriptionThreshold match : firing) {
+            rows.add(new AlertEventInsert(
+                    match.subscriptionId(), snapshot.getId(), null, null, match.ruleType(), match.threshold(), AlertStatus.PENDING));
+        }
+        // Re-evaluating a snapshot is harmless: pairs that already have an event are skipped, not counted.
+        int created = alertEventRepository.insertAll(rows);
+        alertPipelineMetrics.alertsCreated(snapshot.getCreatedAt(), created);
         return created;
     }
 
-    private static boolean shouldTrigger(Subscription subscription, WeatherSnapshot snapshot) {
-        RuleType ruleType = subscription.getRuleType();
-        double threshold = subscription.getThreshold();
+    // Forecast subscriptions of one location, judged on the extreme of their own lead window.
+    @Transactional
+    public int evaluateForecast(UUID locationId, List<SubscriptionThreshold> subscriptions, ForecastWindow window, Instant now) {
+        List<SubscriptionThreshold> matches = subscriptions.stream()
+                .filter(subscription -> window.crosses(subscription.ruleType(), subscription.threshold(), subscription.leadHours()))
+                .toList();
+        AlertTriggerTracker.Readings readings = (ruleType, leadHours) -> leadHours == null ? null : window.extreme(ruleType, leadHours);
+        List<SubscriptionThreshold> firing = alertTriggerTracker.fire(locationId, readings, now, matches);
 
-        return switch (ruleType) {
-            case TEMP_BELOW -> snapshot.getTemperatureC() != null && snapshot.getTemperatureC() < threshold;
-            case TEMP_ABOVE -> snapshot.getTemperatureC() != null && snapshot.getTemperatureC() > threshold;
-            case PRECIP_ABOVE -> snapshot.getPrecipitationMm() != null && snapshot.getPrecipitationMm() > threshold;
-        };
-    }
+        if (firing.isEmpty()) {
+            return 0;
+        }
 
-    private static String buildMessage(Subscription subscription, WeatherSnapshot snapshot) {
-        String locationName = snapshot.getLocation().getName();
-        String rule = subscription.getRuleType() + " " + subscription.getThreshold();
-        return "[" + locationName + "] rule=" + rule
-                + " observedAt=" + snapshot.getObservedAt()
-                + " tempC=" + snapshot.getTemperatureC()
-                + " precipMm=" + snapshot.getPrecipitationMm();
+        List<AlertEventInsert> rows = new ArrayList<>(firing.size());
+        for (SubscriptionThreshold match : firing) {
+            Instant forecastFor = window.firstCrossing(match.ruleType(), match.threshold());
+            rows.add(new AlertEventInsert(
+                    match.subscriptionId(), null, forecastFor, match.leadHours(), match.ruleType(), match.threshold(), AlertStatus.PENDING));
+        }
+        return alertEventRepository.insertAll(rows);
     }
 }
-
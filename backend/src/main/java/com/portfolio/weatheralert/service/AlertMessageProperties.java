@@ -0,0 +1,10 @@
+package com.portfolio.weatheralert.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "alert.message")
+public record AlertMessageProperties(
+        String observedTemplate,
+        String forecastTemplate
+) {
+}
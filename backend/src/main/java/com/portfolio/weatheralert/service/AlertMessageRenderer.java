@@ -0,0 +1,57 @@
+package com.portfolio.weatheralert.service;
+
+import java.util.Set;
+
+import com.portfolio.weatheralert.domain.AlertEvent;
+import com.portfolio.weatheralert.domain.WeatherSnapshot;
+import org.springframework.stereotype.Component;
+
+// Alert text is derived from the stored rule and the snapshot or forecast hour it fired on, only when an alert is
+// read or sent. Expects the event's subscription, location and snapshot to be fetched already.
+@Component
+public class AlertMessageRenderer {
+
+    private static final Set<String> OBSERVED_FIELDS = Set.of(
+            "location", "rule", "threshold", "observedAt", "tempC", "precipMm");
+    private static final Set<String> FORECAST_FIELDS = Set.of(
+            "location", "rule", "threshold", "leadHours", "forecastFor");
+
+    private final MessageTemplate observedTemplate;
+    private final MessageTemplate forecastTemplate;
+
+    public AlertMessageRenderer(AlertMessageProperties properties) {
+        this.observedTemplate = MessageTemplate.compile(properties.observedTemplate(), OBSERVED_FIELDS);
+        this.forecastTemplate = MessageTemplate.compile(properties.forecastTemplate(), FORECAST_FIELDS);
+    }
+
+    public String render(AlertEvent event) {
+        // Alerts from before V8 keep the text they were sent with: their backfilled rule is the subscription's
+        // current one, not necessarily the one they fired on.
+        if (event.getLegacyMessage() != null) {
+            return event.getLegacyMessage();
+        }
+        WeatherSnapshot snapshot = event.getSnapshot();
+        if (snapshot == null) {
+            return forecastTemplate.render(name -> switch (name) {
+                case "leadHours" -> event.getLeadHours();
+                case "forecastFor" -> event.getForecastFor();
+                default -> common(event, name);
+            });
+        }
+        return observedTemplate.render(name -> switch (name) {
+            case "observedAt" -> snapshot.getObservedAt();
+            case "tempC" -> snapshot.getTemperatureC();
+            case "precipMm" -> snapshot.getPrecipitationMm();
+            default -> common(event, name);
+        });
+    }
+
+    private static Object common(AlertEvent event, String name) {
+        return switch (name) {
+            case "location" -> event.getSubscription().getLocation().getName();
+            case "rule" -> event.getRuleType();
+            case "threshold" -> event.getThreshold();
+            default -> throw new IllegalStateException("unhandled placeholder: " + name);
+        };
+    }
+}
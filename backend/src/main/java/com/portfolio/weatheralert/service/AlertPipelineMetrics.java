@@ -0,0 +1,82 @@
+package com.portfolio.weatheralert.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.portfolio.weatheralert.repository.AlertBacklog;
+import com.portfolio.weatheralert.repository.AlertEventRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Where the time goes between an observation and its delivered alert, one timer per stage:
+// provider observedAt -> snapshot stored, snapshot stored -> alert created, alert created -> sent.
+// The backlog gauges are refreshed on a schedule so a scrape never queries alert_events itself.
+@Component
+public class AlertPipelineMetrics {
+
+    static final String LATENCY_METRIC = "alert.latency";
+    static final String BACKLOG_PENDING_METRIC = "alert.backlog.pending";
+    static final String BACKLOG_OLDEST_AGE_METRIC = "alert.backlog.oldest.age";
+
+    private final AlertEventRepository alertEventRepository;
+    private final Clock clock;
+
+    private final Timer observedToStored;
+    private final Timer storedToCreated;
+    private final Timer createdToSent;
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong oldestPendingSeconds = new AtomicLong();
+
+    public AlertPipelineMetrics(AlertEventRepository alertEventRepository, MeterRegistry meterRegistry, Clock clock) {
+        this.alertEventRepository = alertEventRepository;
+        this.clock = clock;
+        this.observedToStored = stage(meterRegistry, "observed_to_stored");
+        this.storedToCreated = stage(meterRegistry, "stored_to_created");
+        this.createdToSent = stage(meterRegistry, "created_to_sent");
+        Gauge.builder(BACKLOG_PENDING_METRIC, pending, AtomicLong::get).register(meterRegistry);
+        Gauge.builder(BACKLOG_OLDEST_AGE_METRIC, oldestPendingSeconds, AtomicLong::get).baseUnit("seconds").register(meterRegistry);
+    }
+
+    public void snapshotStored(Instant observedAt) {
+        observedToStored.record(since(observedAt));
+    }
+
+    public void alertsCreated(Instant snapshotStoredAt, int count) {
+        Duration latency = since(snapshotStoredAt);
+        for (int i = 0; i < count; i++) {
+            storedToCreated.record(latency);
+        }
+    }
+
+    public void alertsSent(Collection<Instant> createdAts) {
+        createdAts.forEach(createdAt -> createdToSent.record(since(createdAt)));
+    }
+
+    @Scheduled(fixedDelayString = "PT15S", initialDelayString = "PT15S")
+    public void refreshBacklog() {
+        AlertBacklog backlog = alertEventRepository.findPendingBacklog();
+        pending.set(backlog.pending());
+        oldestPendingSeconds.set(backlog.oldestCreatedAt() == null ? 0 : since(backlog.oldestCreatedAt()).toSeconds());
+    }
+
+    private Duration since(Instant from) {
+        Duration elapsed = Duration.between(from, clock.instant());
+        return elapsed.isNegative() ? Duration.ZERO : elapsed;
+    }
+
+    // Observations can be up to a provider interval old when fetched and a digest waits its window, so the
+    // histograms reach well past the default 30s.
+    private static Timer stage(MeterRegistry meterRegistry, String stage) {
+        return Timer.builder(LATENCY_METRIC)
+                .tag("stage", stage)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(Duration.ofHours(2))
+                .register(meterRegistry);
+    }
+}
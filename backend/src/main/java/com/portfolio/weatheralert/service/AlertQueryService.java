@@ -11,14 +11,16 @@ import org.springframework.stereotype.Service;
 public class AlertQueryService {
 
     private final AlertEventRepository alertEventRepository;
+    private final AlertMessageRenderer alertMessageRenderer;
 
-    public AlertQueryService(AlertEventRepository alertEventRepository) {
+    public AlertQueryService(AlertEventRepository alertEventRepository, AlertMessageRenderer alertMessageRenderer) {
         this.alertEventRepository = alertEventRepository;
+        this.alertMessageRenderer = alertMessageRenderer;
     }
 
     public List<AlertEventResponse> listForUser(UUID userId) {
         return alertEventRepository.findBySubscriptionUserIdOrderByCreatedAtDesc(userId).stream()
-                .map(AlertEventResponse::from)
+                .map(event -> AlertEventResponse.from(event, alertMessageRenderer.render(event)))
                 .toList();
     }
 }
@@ -0,0 +1,13 @@
+package com.portfolio.weatheralert.service;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "alert.trigger")
+public record AlertTriggerProperties(
+        double temperatureHysteresis,
+        double precipitationHysteresis,
+        Duration cooldown
+) {
+}
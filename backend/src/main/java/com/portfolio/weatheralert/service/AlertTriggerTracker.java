@@ -0,0 +1,174 @@
+package com.portfolio.weatheralert.service;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.portfolio.weatheralert.domain.RuleType;
+import com.portfolio.weatheralert.repository.SubscriptionThreshold;
+import com.portfolio.weatheralert.repository.SubscriptionTriggerStateRepository;
+import com.portfolio.weatheralert.repository.TriggerStateRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Edge-triggered alerting: a subscription fires when its condition starts to hold, then stays quiet until the reading
+// moves back past the threshold by the hysteresis margin and the cooldown has passed.
+// Only subscriptions that are disarmed or cooling down are held here; anything absent is armed.
+@Component
+public class AlertTriggerTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(AlertTriggerTracker.class);
+
+    private final SubscriptionTriggerStateRepository triggerStateRepository;
+    private final AlertTriggerProperties properties;
+    private final Clock clock;
+
+    private volatile Map<UUID, Map<UUID, TriggerState>> states;
+
+    public AlertTriggerTracker(SubscriptionTriggerStateRepository triggerStateRepository,
+                               AlertTriggerProperties properties,
+                               Clock clock) {
+        this.triggerStateRepository = triggerStateRepository;
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    // The database row is authoritative for firing; the reload only catches up with transitions made on other nodes.
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "PT5M", initialDelayString = "PT5M")
+    public void reload() {
+        List<TriggerStateRow> rows = triggerStateRepository.findActiveStates(clock.instant().minus(properties.cooldown()));
+        Map<UUID, Map<UUID, TriggerState>> reloaded = new ConcurrentHashMap<>();
+        for (TriggerStateRow row : rows) {
+            reloaded.computeIfAbsent(row.locationId(), id -> new ConcurrentHashMap<>())
+                    .put(row.subscriptionId(),
+                            new TriggerState(row.ruleType(), row.threshold(), row.leadHours(), row.armed(), row.lastFiredAt()));
+        }
+        states = reloaded;
+        log.info("alert trigger states reloaded subscriptions={}", rows.size());
+    }
+
+    // Takes the subscriptions whose condition holds for these readings and returns the ones that should alert now.
+    public List<SubscriptionThreshold> fire(UUID locationId, Readings readings, Instant observedAt,
+                                            List<SubscriptionThreshold> matches) {
+        Map<UUID, TriggerState> held = current().getOrDefault(locationId, Map.of());
+        Instant cooldownCutoff = observedAt.minus(properties.cooldown());
+
+        Set<UUID> matched = new HashSet<>(matches.size() * 2);
+        Set<UUID> candidates = new LinkedHashSet<>();
+        for (SubscriptionThreshold match : matches) {
+            matched.add(match.subscriptionId());
+            TriggerState state = held.get(match.subscriptionId());
+            if (state == null || (state.armed() && state.cooledDown(cooldownCutoff))) {
+                candidates.add(match.subscriptionId());
+            }
+        }
+
+        // Judged on held only, so evaluation never reads trigger history. A subscription another node disarmed is
+        // held here once this node loses the compare-and-set on it below, or at the latest after the next reload.
+        List<UUID> rearmed = new ArrayList<>();
+        held.forEach((subscriptionId, state) -> {
+            if (!state.armed() && !matched.contains(subscriptionId) && receded(state, readings)) {
+                rearmed.add(subscriptionId);
+            }
+        });
+
+        triggerStateRepository.rearm(rearmed);
+        Set<UUID> fired = new HashSet<>(triggerStateRepository.fireIfArmed(List.copyOf(candidates), observedAt, cooldownCutoff));
+
+        List<SubscriptionThreshold> firing = new ArrayList<>(fired.size());
+        List<SubscriptionThreshold> disarmed = new ArrayList<>(candidates.size());
+        for (SubscriptionThreshold match : matches) {
+            if (fired.contains(match.subscriptionId())) {
+                firing.add(match);
+                disarmed.add(match);
+            } else if (candidates.contains(match.subscriptionId())) {
+                // Lost the compare-and-set: another node fired it first, so adopt its state.
+                disarmed.add(match);
+            }
+        }
+        afterCommit(() -> apply(locationId, observedAt, cooldownCutoff, rearmed, disarmed));
+        return firing;
+    }
+
+    private void apply(UUID locationId, Instant observedAt, Instant cooldownCutoff,
+                       List<UUID> rearmed, List<SubscriptionThreshold> disarmed) {
+        Map<UUID, TriggerState> held = current().computeIfAbsent(locationId, id -> new ConcurrentHashMap<>());
+        rearmed.forEach(subscriptionId -> held.computeIfPresent(subscriptionId, (id, state) -> state.rearm()));
+        disarmed.forEach(match -> held.put(match.subscriptionId(),
+                new TriggerState(match.ruleType(), match.threshold(), match.leadHours(), false, observedAt)));
+        // Armed and past the cooldown is the default state, so there is nothing left to remember.
+        held.values().removeIf(state -> state.armed() && state.cooledDown(cooldownCutoff));
+    }
+
+    private boolean receded(TriggerState state, Readings readings) {
+        Double value = readings.value(state.ruleType(), state.leadHours());
+        if (value == null) {
+            return false;
+        }
+        return switch (state.ruleType()) {
+            case TEMP_BELOW -> value >= state.threshold() + properties.temperatureHysteresis();
+            case TEMP_ABOVE -> value <= state.threshold() - properties.temperatureHysteresis();
+            case PRECIP_ABOVE -> value <= state.threshold() - properties.precipitationHysteresis();
+        };
+    }
+
+    private Map<UUID, Map<UUID, TriggerState>> current() {
+        Map<UUID, Map<UUID, TriggerState>> current = states;
+        if (current == null) {
+            synchronized (this) {
+                if (states == null) {
+                    reload();
+                }
+                current = states;
+            }
+        }
+        return current;
+    }
+
+    // Memory follows the database only once the transition has committed; outside a transaction it applies at once.
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    // The value a subscription is judged on, or null when this evaluation does not cover it
+    // (an observed snapshot says nothing about forecast subscriptions, and the other way round).
+    @FunctionalInterface
+    public interface Readings {
+
+        Double value(RuleType ruleType, Integer leadHours);
+    }
+
+    private record TriggerState(RuleType ruleType, double threshold, Integer leadHours, boolean armed, Instant lastFiredAt) {
+
+        boolean cooledDown(Instant cutoff) {
+            return lastFiredAt == null || !lastFiredAt.isAfter(cutoff);
+        }
+
+        TriggerState rearm() {
+            return new TriggerState(ruleType, threshold, leadHours, true, lastFiredAt);
+        }
+    }
+}
@@ -4,9 +4,12 @@ import java.time.Duration;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+// hourlyWeatherTtl is the hard TTL (how long Redis keeps a forecast); past hourlyWeatherSoftTtl it is still served
+// but refreshed in the background.
 @ConfigurationProperties(prefix = "cache")
 public record CacheTtlProperties(
         Duration currentWeatherTtl,
-        Duration hourlyWeatherTtl
+        Duration hourlyWeatherTtl,
+        Duration hourlyWeatherSoftTtl
 ) {
 }
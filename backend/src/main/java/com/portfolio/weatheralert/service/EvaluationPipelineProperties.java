@@ -0,0 +1,14 @@
+package com.portfolio.weatheralert.service;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "alert.evaluation")
+public record EvaluationPipelineProperties(
+        int workers,
+        int queueCapacity,
+        Duration relayGrace,
+        Duration relayLease
+) {
+}
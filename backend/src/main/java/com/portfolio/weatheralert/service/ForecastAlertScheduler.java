@@ -0,0 +1,62 @@
+package com.portfolio.weatheralert.service;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import com.portfolio.weatheralert.repository.SubscriptionRepository;
+import com.portfolio.weatheralert.repository.SubscriptionThreshold;
+import com.portfolio.weatheralert.service.dto.HourlyWeatherResponse;
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ForecastAlertScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(ForecastAlertScheduler.class);
+
+    private final SubscriptionRepository subscriptionRepository;
+    private final WeatherForecastService weatherForecastService;
+    private final AlertEvaluationService alertEvaluationService;
+    private final Clock clock;
+
+    public ForecastAlertScheduler(SubscriptionRepository subscriptionRepository,
+                                  WeatherForecastService weatherForecastService,
+                                  AlertEvaluationService alertEvaluationService,
+                                  Clock clock) {
+        this.subscriptionRepository = subscriptionRepository;
+        this.weatherForecastService = weatherForecastService;
+        this.alertEvaluationService = alertEvaluationService;
+        this.clock = clock;
+    }
+
+    @Scheduled(fixedDelayString = "PT30M", initialDelayString = "PT1M")
+    @SchedulerLock(name = "forecast_alert_evaluation", lockAtMostFor = "PT20M", lockAtLeastFor = "PT1M")
+    public void evaluateForecasts() {
+        Map<UUID, List<SubscriptionThreshold>> byLocation = subscriptionRepository.findAllEnabledForecastThresholds().stream()
+                .collect(Collectors.groupingBy(SubscriptionThreshold::locationId));
+        Instant now = clock.instant();
+        int created = 0;
+
+        for (Map.Entry<UUID, List<SubscriptionThreshold>> entry : byLocation.entrySet()) {
+            try {
+                // Goes through the hourlyWeather cache, so a forecast the API already served is not fetched again,
+                // and a stale one is used without refreshing it.
+                HourlyWeatherResponse forecast = weatherForecastService.getHourlyForEvaluation(entry.getKey());
+                created += alertEvaluationService.evaluateForecast(
+                        entry.getKey(), entry.getValue(), ForecastWindow.of(forecast.points(), now), now);
+            } catch (RuntimeException e) {
+                log.warn("forecast evaluation failed locationId={}, err={}", entry.getKey(), e.toString());
+            }
+        }
+        if (created > 0) {
+            log.info("forecast alerts created count={}, locations={}", created, byLocation.size());
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.portfolio.weatheralert.service;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import com.portfolio.weatheralert.domain.RuleType;
+import com.portfolio.weatheralert.service.dto.HourlyWeatherResponse.HourlyWeatherPoint;
+
+// Running min/max over the forecast from the current hour on. One pass builds it, after which every forecast
+// subscription of the location is answered by binary search instead of rescanning the series.
+public final class ForecastWindow {
+
+    private static final long SECONDS_PER_HOUR = 3600;
+
+    private final long nowEpochSecond;
+    private final long[] epochSeconds;
+    // Missing hours carry the previous extreme forward, so both arrays stay monotonic.
+    private final double[] runningMin;
+    private final double[] runningMax;
+
+    private ForecastWindow(long nowEpochSecond, long[] epochSeconds, double[] runningMin, double[] runningMax) {
+        this.nowEpochSecond = nowEpochSecond;
+        this.epochSeconds = epochSeconds;
+        this.runningMin = runningMin;
+        this.runningMax = runningMax;
+    }
+
+    public static ForecastWindow of(List<HourlyWeatherPoint> points, Instant now) {
+        long currentHour = now.truncatedTo(ChronoUnit.HOURS).getEpochSecond();
+        int from = 0;
+        while (from < points.size() && points.get(from).time().getEpochSecond() < currentHour) {
+            from++;
+        }
+
+        int size = points.size() - from;
+        long[] epochSeconds = new long[size];
+        double[] runningMin = new double[size];
+        double[] runningMax = new double[size];
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < size; i++) {
+            HourlyWeatherPoint point = points.get(from + i);
+            if (point.temperatureC() != null) {
+                min = Math.min(min, point.temperatureC());
+                max = Math.max(max, point.temperatureC());
+            }
+            epochSeconds[i] = point.time().getEpochSecond();
+            runningMin[i] = min;
+            runningMax[i] = max;
+        }
+        return new ForecastWindow(now.getEpochSecond(), epochSeconds, runningMin, runningMax);
+    }
+
+    // The extreme a rule is judged on within the lead: the lowest temperature for TEMP_BELOW, the highest for TEMP_ABOVE.
+    public Double extreme(RuleType ruleType, int leadHours) {
+        int end = end(leadHours);
+        if (end == 0) {
+            return null;
+        }
+        double value = switch (ruleType) {
+            case TEMP_BELOW -> runningMin[end - 1];
+            case TEMP_ABOVE -> runningMax[end - 1];
+            case PRECIP_ABOVE -> Double.NaN;
+        };
+        return Double.isFinite(value) ? value : null;
+    }
+
+    public boolean crosses(RuleType ruleType, double threshold, int leadHours) {
+        Double value = extreme(ruleType, leadHours);
+        if (value == null) {
+            return false;
+        }
+        return ruleType == RuleType.TEMP_BELOW ? value < threshold : value > threshold;
+    }
+
+    // Hour of the first crossing, or null if the forecast never crosses the threshold.
+    public Instant firstCrossing(RuleType ruleType, double threshold) {
+        int low = 0;
+        int high = epochSeconds.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            boolean crossed = ruleType == RuleType.TEMP_BELOW ? runningMin[mid] < threshold : runningMax[mid] > threshold;
+            if (crossed) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low == epochSeconds.length ? null : Instant.ofEpochSecond(epochSeconds[low]);
+    }
+
+    // Number of hours that start no later than now + leadHours.
+    private int end(int leadHours) {
+        long limit = nowEpochSecond + leadHours * SECONDS_PER_HOUR;
+        int low = 0;
+        int high = epochSeconds.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (epochSeconds[mid] <= limit) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
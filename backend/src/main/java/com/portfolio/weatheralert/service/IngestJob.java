@@ -0,0 +1,46 @@
+package com.portfolio.weatheralert.service;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public final class IngestJob {
+
+    private final UUID id = UUID.randomUUID();
+    private final Instant startedAt;
+    private final IngestProgress progress = new IngestProgress();
+    private volatile IngestJobStatus status = IngestJobStatus.RUNNING;
+    private volatile Instant finishedAt;
+
+    IngestJob(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    void finish(IngestJobStatus status, Instant finishedAt) {
+        this.finishedAt = finishedAt;
+        this.status = status;
+    }
+
+    public boolean isRunning() {
+        return status == IngestJobStatus.RUNNING;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public IngestJobStatus getStatus() {
+        return status;
+    }
+
+    public IngestProgress getProgress() {
+        return progress;
+    }
+}
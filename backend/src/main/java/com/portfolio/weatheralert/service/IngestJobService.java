@@ -0,0 +1,81 @@
+package com.portfolio.weatheralert.service;
+
+import java.time.Clock;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+// Jobs live in memory on the node that accepted the trigger: a job id is only known to that node, and a second node
+// runs its own job rather than joining this one. Behind a load balancer, status polling needs sticky routing.
+@Service
+public class IngestJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(IngestJobService.class);
+
+    private static final int RETAINED_JOBS = 20;
+
+    private final WeatherIngestService weatherIngestService;
+    private final Clock clock;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("ingest-job-"));
+
+    private final Map<UUID, IngestJob> jobs = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, IngestJob> eldest) {
+            return size() > RETAINED_JOBS;
+        }
+    };
+    private IngestJob current;
+
+    public IngestJobService(WeatherIngestService weatherIngestService, Clock clock) {
+        this.weatherIngestService = weatherIngestService;
+        this.clock = clock;
+    }
+
+    // A trigger that arrives while a run is in flight joins it instead of queueing a second full run.
+    public synchronized IngestJob submit() {
+        if (current != null && current.isRunning()) {
+            return current;
+        }
+        IngestJob job = new IngestJob(clock.instant());
+        jobs.put(job.getId(), job);
+        current = job;
+        executor.execute(() -> run(job));
+        return job;
+    }
+
+    public synchronized IngestJob find(UUID jobId) {
+        IngestJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new EntityNotFoundException("ingest job not found: " + jobId);
+        }
+        return job;
+    }
+
+    private void run(IngestJob job) {
+        try {
+            weatherIngestService.ingestAllLocations(job.getProgress());
+            job.finish(IngestJobStatus.COMPLETED, clock.instant());
+        } catch (Throwable e) {
+            // Errors too: a job left RUNNING would have every later submit join it and never run again.
+            log.warn("ingest job failed id={}, err={}", job.getId(), e.toString());
+            job.finish(IngestJobStatus.FAILED, clock.instant());
+            if (e instanceof Error error) {
+                throw error;
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
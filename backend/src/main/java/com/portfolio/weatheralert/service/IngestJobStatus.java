@@ -0,0 +1,7 @@
+package com.portfolio.weatheralert.service;
+
+public enum IngestJobStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,58 @@
+package com.portfolio.weatheralert.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+
+// Hands out provider calls from the shared openMeteo rate limiter, one per limit-refresh-period / limit-for-period,
+// so a run spreads its calls over the window instead of bursting into the limit and losing the rest.
+final class IngestPacer {
+
+    private final RateLimiter rateLimiter;
+    private final Instant deadline;
+    private final Clock clock;
+    private final Duration spacing;
+    private Instant nextCallAt;
+
+    IngestPacer(RateLimiter rateLimiter, Instant deadline, Clock clock) {
+        RateLimiterConfig config = rateLimiter.getRateLimiterConfig();
+        this.rateLimiter = rateLimiter;
+        this.deadline = deadline;
+        this.clock = clock;
+        this.spacing = config.getLimitRefreshPeriod().dividedBy(Math.max(config.getLimitForPeriod(), 1));
+        this.nextCallAt = clock.instant();
+    }
+
+    // False once the next permit would land after the deadline; the caller defers whatever is left.
+    boolean awaitPermit() {
+        try {
+            if (!sleepUntil(nextCallAt)) {
+                return false;
+            }
+            while (!rateLimiter.acquirePermission()) {
+                if (!sleepUntil(clock.instant().plus(spacing))) {
+                    return false;
+                }
+            }
+            nextCallAt = clock.instant().plus(spacing);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private boolean sleepUntil(Instant at) throws InterruptedException {
+        if (at.isAfter(deadline)) {
+            return false;
+        }
+        long millis = Duration.between(clock.instant(), at).toMillis();
+        if (millis > 0) {
+            Thread.sleep(millis);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,52 @@
+package com.portfolio.weatheralert.service;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class IngestProgress {
+
+    private final AtomicInteger total = new AtomicInteger();
+    private final AtomicInteger done = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final AtomicInteger skipped = new AtomicInteger();
+    private final AtomicInteger deferred = new AtomicInteger();
+
+    void addTotal(int locations) {
+        total.addAndGet(locations);
+    }
+
+    void done(int locations) {
+        done.addAndGet(locations);
+    }
+
+    void failed(int locations) {
+        failed.addAndGet(locations);
+    }
+
+    void skipped(int locations) {
+        skipped.addAndGet(locations);
+    }
+
+    void deferred(int locations) {
+        deferred.addAndGet(locations);
+    }
+
+    public int total() {
+        return total.get();
+    }
+
+    public int done() {
+        return done.get();
+    }
+
+    public int failed() {
+        return failed.get();
+    }
+
+    public int skipped() {
+        return skipped.get();
+    }
+
+    public int deferred() {
+        return deferred.get();
+    }
+}
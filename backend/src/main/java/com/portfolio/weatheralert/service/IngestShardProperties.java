@@ -0,0 +1,14 @@
+package com.portfolio.weatheralert.service;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "weather.ingest.sharding")
+public record IngestShardProperties(
+        int shards,
+        Duration lockAtMostFor,
+        Duration lockAtLeastFor,
+        Duration tickWindow
+) {
+}
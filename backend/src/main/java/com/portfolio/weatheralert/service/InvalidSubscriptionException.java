@@ -0,0 +1,9 @@
+package com.portfolio.weatheralert.service;
+
+// A subscription request that is well-formed but cannot be served; answered with 400 rather than 500.
+public class InvalidSubscriptionException extends RuntimeException {
+
+    public InvalidSubscriptionException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,10 @@
+package com.portfolio.weatheralert.service;
+
+import com.portfolio.weatheralert.domain.Location;
+import com.portfolio.weatheralert.weather.WeatherObservation;
+
+public record LocationObservation(
+        Location location,
+        WeatherObservation observation
+) {
+}
@@ -0,0 +1,105 @@
+package com.portfolio.weatheralert.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.portfolio.weatheralert.domain.LocationPollSchedule;
+import com.portfolio.weatheralert.repository.LocationPollScheduleRepository;
+import com.portfolio.weatheralert.repository.LocationSubscriptionCount;
+import com.portfolio.weatheralert.repository.SubscriptionRepository;
+import com.portfolio.weatheralert.weather.WeatherObservation;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class LocationPollScheduler {
+
+    // Each unit of score halves the poll interval, starting from max-interval for an idle location.
+    private static final double SUBSCRIPTION_WEIGHT = 3.0;
+    private static final double READ_WEIGHT = 1.0;
+    private static final double VOLATILITY_WEIGHT = 1.0;
+
+    // WeatherIngestScheduler runs on the minute and takes rows with next_poll_at <= now.
+    private static final Duration TICK = Duration.ofMinutes(1);
+
+    private final LocationPollScheduleRepository locationPollScheduleRepository;
+    private final SubscriptionRepository subscriptionRepository;
+    private final PollingProperties properties;
+    private final Clock clock;
+
+    public LocationPollScheduler(LocationPollScheduleRepository locationPollScheduleRepository,
+                                 SubscriptionRepository subscriptionRepository,
+                                 PollingProperties properties,
+                                 Clock clock) {
+        this.locationPollScheduleRepository = locationPollScheduleRepository;
+        this.subscriptionRepository = subscriptionRepository;
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    @Transactional
+    public void reschedule(List<LocationObservation> polled) {
+        if (polled.isEmpty()) {
+            return;
+        }
+        Instant now = clock.instant();
+        // Counted from the tick this poll ran in and rounded down to a tick, not from when the write finished:
+        // otherwise the fetch and write time push every poll just past its due tick and a 5m interval becomes 6m.
+        Instant tick = truncate(now);
+        List<UUID> locationIds = polled.stream().map(entry -> entry.location().getId()).toList();
+
+        Map<UUID, Long> subscriptions = subscriptionRepository.countEnabledByLocationIds(locationIds).stream()
+                .collect(Collectors.toMap(LocationSubscriptionCount::locationId, LocationSubscriptionCount::subscriptions));
+        Map<UUID, LocationPollSchedule> schedules = locationPollScheduleRepository.findAllById(locationIds).stream()
+                .collect(Collectors.toMap(LocationPollSchedule::getId, Function.identity()));
+
+        for (LocationObservation entry : polled) {
+            UUID locationId = entry.location().getId();
+            WeatherObservation observation = entry.observation();
+            LocationPollSchedule schedule = schedules.computeIfAbsent(locationId, LocationPollSchedule::new);
+            schedule.recordObservation(now, observation.temperatureC(), observation.precipitationMm());
+            Duration interval = interval(subscriptions.getOrDefault(locationId, 0L), schedule.getRecentReads(), schedule.getVolatility());
+            schedule.scheduleNext(truncate(tick.plus(interval)), interval);
+        }
+        // New rows go in with on-conflict-do-nothing: two nodes creating the first schedule of the same location
+        // must not roll back the snapshot chunk this runs in.
+        Map<Boolean, List<LocationPollSchedule>> byNew = schedules.values().stream()
+                .collect(Collectors.partitioningBy(LocationPollSchedule::isNew));
+        locationPollScheduleRepository.saveAll(byNew.get(false));
+        locationPollScheduleRepository.insertIfAbsent(byNew.get(true));
+    }
+
+    // Without this a location whose fetch failed stays due, and every tick spends a provider call on it again
+    // for as long as the outage lasts.
+    @Transactional
+    public void backoff(Collection<UUID> locationIds) {
+        if (locationIds.isEmpty()) {
+            return;
+        }
+        locationPollScheduleRepository.recordFailedPolls(locationIds, clock.instant(), properties.minInterval(), properties.maxInterval());
+    }
+
+    Duration interval(long subscriptions, long reads, double volatility) {
+        double score = SUBSCRIPTION_WEIGHT * log2(1 + subscriptions)
+                + READ_WEIGHT * log2(1 + reads)
+                + VOLATILITY_WEIGHT * volatility;
+        long maxSeconds = properties.maxInterval().toSeconds();
+        long seconds = (long) (maxSeconds / Math.pow(2, score));
+        return Duration.ofSeconds(Math.min(Math.max(seconds, properties.minInterval().toSeconds()), maxSeconds));
+    }
+
+    private static Instant truncate(Instant instant) {
+        return Instant.ofEpochSecond(instant.getEpochSecond() - Math.floorMod(instant.getEpochSecond(), TICK.toSeconds()));
+    }
+
+    private static double log2(double value) {
+        return Math.log(value) / Math.log(2);
+    }
+}
@@ -0,0 +1,55 @@
+package com.portfolio.weatheralert.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+// A "{name}" template split once into literal text and placeholder names, so rendering is a single append pass.
+final class MessageTemplate {
+
+    private final String[] literals;
+    private final String[] names;
+    private final int literalLength;
+
+    private MessageTemplate(String[] literals, String[] names) {
+        this.literals = literals;
+        this.names = names;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    // Unknown placeholders fail here, at startup, rather than on the first alert that uses them.
+    static MessageTemplate compile(String pattern, Set<String> allowedNames) {
+        List<String> literals = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        int from = 0;
+        while (true) {
+            int open = pattern.indexOf('{', from);
+            int close = open < 0 ? -1 : pattern.indexOf('}', open);
+            if (close < 0) {
+                literals.add(pattern.substring(from));
+                break;
+            }
+            String name = pattern.substring(open + 1, close);
+            if (!allowedNames.contains(name)) {
+                throw new IllegalArgumentException("unknown placeholder {" + name + "} in template: " + pattern);
+            }
+            literals.add(pattern.substring(from, open));
+            names.add(name);
+            from = close + 1;
+        }
+        return new MessageTemplate(literals.toArray(String[]::new), names.toArray(String[]::new));
+    }
+
+    String render(Function<String, Object> values) {
+        StringBuilder out = new StringBuilder(literalLength + names.length * 16);
+        for (int i = 0; i < names.length; i++) {
+            out.append(literals[i]).append(values.apply(names[i]));
+        }
+        return out.append(literals[names.length]).toString();
+    }
+}
@@ -0,0 +1,12 @@
+package com.portfolio.weatheralert.service;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "weather.ingest.polling")
+public record PollingProperties(
+        Duration minInterval,
+        Duration maxInterval
+) {
+}
@@ -0,0 +1,33 @@
+package com.portfolio.weatheralert.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.portfolio.weatheralert.domain.Location;
+import com.portfolio.weatheralert.weather.Coordinate;
+
+final class ProviderGrid {
+
+    private ProviderGrid() {
+    }
+
+    // Groups locations into square cells of the given size in degrees, keyed by the cell centre that
+    // is sent to the provider. A non-positive resolution keeps every location in its own cell.
+    static Map<Coordinate, List<Location>> group(List<Location> locations, double resolution) {
+        Map<Coordinate, List<Location>> cells = new LinkedHashMap<>();
+        for (Location location : locations) {
+            Coordinate cell = resolution > 0
+                    ? new Coordinate(center(location.getLatitude(), resolution), center(location.getLongitude(), resolution))
+                    : new Coordinate(location.getLatitude(), location.getLongitude());
+            cells.computeIfAbsent(cell, key -> new ArrayList<>()).add(location);
+        }
+        return cells;
+    }
+
+    private static double center(double degrees, double resolution) {
+        double center = (Math.floor(degrees / resolution) + 0.5) * resolution;
+        return Math.round(center * 1_000_000d) / 1_000_000d;
+    }
+}
@@ -0,0 +1,185 @@
+package com.portfolio.weatheralert.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.portfolio.weatheralert.repository.PendingEvaluation;
+import com.portfolio.weatheralert.repository.SnapshotEvaluationOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+// Evaluates freshly ingested snapshots off the ingest path. Each worker owns one bounded lane and locations are
+// hashed onto lanes, so one location's snapshots are never evaluated concurrently. When a lane is full the snapshot is
+// left in the outbox and the relay offers it again once there is room; nothing is lost and ingest never waits.
+@Component
+public class SnapshotEvaluationPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(SnapshotEvaluationPipeline.class);
+
+    static final String QUEUE_DEPTH_METRIC = "alert.evaluation.queue.depth";
+    static final String OUTBOX_LAG_METRIC = "alert.evaluation.outbox.lag";
+    static final String LAG_METRIC = "alert.evaluation.lag";
+    static final String REJECTED_METRIC = "alert.evaluation.rejected";
+    static final String FAILED_METRIC = "alert.evaluation.failed";
+
+    private final AlertEvaluationService alertEvaluationService;
+    private final SnapshotEvaluationOutboxRepository outboxRepository;
+    private final EvaluationPipelineProperties properties;
+    private final Clock clock;
+
+    private final List<BlockingQueue<SnapshotReady>> lanes;
+    // Queued or being evaluated on this node, so the relay does not offer the same snapshot twice.
+    private final Set<UUID> inFlight = ConcurrentHashMap.newKeySet();
+    private final ExecutorService workers;
+    private final AtomicLong oldestPendingSeconds = new AtomicLong();
+
+    private final Timer lag;
+    private final Counter rejected;
+    private final Counter failed;
+
+    public SnapshotEvaluationPipeline(AlertEvaluationService alertEvaluationService,
+                                      SnapshotEvaluationOutboxRepository outboxRepository,
+                                      EvaluationPipelineProperties properties,
+                                      MeterRegistry meterRegistry,
+                                      Clock clock) {
+        this.alertEvaluationService = alertEvaluationService;
+        this.outboxRepository = outboxRepository;
+        this.properties = properties;
+        this.clock = clock;
+
+        int workerCount = Math.max(properties.workers(), 1);
+        int laneCapacity = Math.max(properties.queueCapacity() / workerCount, 1);
+        this.lanes = new ArrayList<>(workerCount);
+        for (int i = 0; i < workerCount; i++) {
+            lanes.add(new ArrayBlockingQueue<>(laneCapacity));
+        }
+
+        Gauge.builder(QUEUE_DEPTH_METRIC, this, SnapshotEvaluationPipeline::depth).register(meterRegistry);
+        Gauge.builder(OUTBOX_LAG_METRIC, oldestPendingSeconds, AtomicLong::get).baseUnit("seconds").register(meterRegistry);
+        this.lag = Timer.builder(LAG_METRIC).register(meterRegistry);
+        this.rejected = meterRegistry.counter(REJECTED_METRIC);
+        this.failed = meterRegistry.counter(FAILED_METRIC);
+
+        this.workers = Executors.newFixedThreadPool(workerCount, new CustomizableThreadFactory("alert-eval-"));
+        for (BlockingQueue<SnapshotReady> lane : lanes) {
+            workers.execute(() -> drain(lane));
+        }
+    }
+
+    // Only after commit: a snapshot whose ingest transaction rolled back has no outbox row and must not be evaluated.
+    // The rows are leased before they are queued, as the relay does, so a relay on another node cannot claim a
+    // snapshot that is still waiting in a lane here once its grace period has passed.
+    @TransactionalEventListener
+    public void onSnapshotsReady(SnapshotsReadyEvent event) {
+        Instant now = clock.instant();
+        Set<UUID> leased;
+        try {
+            leased = Set.copyOf(outboxRepository.lease(
+                    event.snapshots().stream().map(SnapshotReady::snapshotId).toList(), now, now.plus(properties.relayLease())));
+        } catch (RuntimeException e) {
+            // Ingest has already committed; the rows stay in the outbox for the relay.
+            log.warn("evaluation outbox lease failed count={}, err={}", event.snapshots().size(), e.toString());
+            return;
+        }
+        event.snapshots().stream()
+                .filter(ready -> leased.contains(ready.snapshotId()))
+                .forEach(this::offer);
+    }
+
+    // Picks up what the direct hand-off could not take: lanes that were full, a node that died with a queue,
+    // evaluations that failed. The grace period keeps it from racing the hand-off of just-committed rows before
+    // the hand-off has leased them.
+    // Every node relays; the rows it takes are leased, so relays on other nodes do not queue the same snapshots.
+    // A row that fails evaluation, or finds its lane full after all, is offered again once its lease runs out.
+    @Scheduled(fixedDelayString = "PT10S", initialDelayString = "PT10S")
+    public void relay() {
+        outboxRepository.findFirstByOrderByCreatedAtAsc().ifPresentOrElse(
+                oldest -> oldestPendingSeconds.set(Duration.between(oldest.getCreatedAt(), clock.instant()).toSeconds()),
+                () -> oldestPendingSeconds.set(0));
+
+        int room = lanes.stream().mapToInt(BlockingQueue::remainingCapacity).sum();
+        if (room == 0) {
+            return;
+        }
+        Instant now = clock.instant();
+        int offered = 0;
+        List<PendingEvaluation> pending = outboxRepository.claimPending(
+                room, now.minus(properties.relayGrace()), now, now.plus(properties.relayLease()));
+        for (PendingEvaluation row : pending) {
+            if (offer(new SnapshotReady(row.snapshotId(), row.locationId(), row.createdAt()))) {
+                offered++;
+            }
+        }
+        if (offered > 0) {
+            log.info("evaluation outbox relayed count={}", offered);
+        }
+    }
+
+    boolean offer(SnapshotReady ready) {
+        if (!inFlight.add(ready.snapshotId())) {
+            return false;
+        }
+        if (!laneOf(ready.locationId()).offer(ready)) {
+            inFlight.remove(ready.snapshotId());
+            rejected.increment();
+            return false;
+        }
+        return true;
+    }
+
+    int depth() {
+        return lanes.stream().mapToInt(BlockingQueue::size).sum();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        // Whatever is still queued stays in the outbox and is relayed by the next node to come up.
+        workers.shutdownNow();
+    }
+
+    private void drain(BlockingQueue<SnapshotReady> lane) {
+        while (!Thread.currentThread().isInterrupted()) {
+            SnapshotReady ready;
+            try {
+                ready = lane.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            try {
+                alertEvaluationService.evaluateReady(ready.snapshotId());
+                lag.record(Duration.between(ready.readyAt(), clock.instant()));
+            } catch (RuntimeException e) {
+                // The outbox row survives the rolled-back transaction, so the relay retries it.
+                failed.increment();
+                log.warn("snapshot evaluation failed snapshotId={}, err={}", ready.snapshotId(), e.toString());
+            } finally {
+                inFlight.remove(ready.snapshotId());
+            }
+        }
+    }
+
+    private BlockingQueue<SnapshotReady> laneOf(UUID locationId) {
+        return lanes.get(Math.floorMod(locationId.hashCode(), lanes.size()));
+    }
+}
@@ -0,0 +1,7 @@
+package com.portfolio.weatheralert.service;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record SnapshotReady(UUID snapshotId, UUID locationId, Instant readyAt) {
+}
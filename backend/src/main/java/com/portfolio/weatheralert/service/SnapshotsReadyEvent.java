@@ -0,0 +1,6 @@
+package com.portfolio.weatheralert.service;
+
+import java.util.List;
+
+public record SnapshotsReadyEvent(List<SnapshotReady> snapshots) {
+}
@@ -0,0 +1,230 @@
+package com.portfolio.weatheralert.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import com.portfolio.weatheralert.domain.RuleType;
+import com.portfolio.weatheralert.repository.SubscriptionRepository;
+import com.portfolio.weatheralert.repository.SubscriptionThreshold;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Enabled subscription thresholds per (location, rule), kept sorted so a snapshot finds its matches by binary search
+// instead of loading every subscription of the location.
+@Component
+public class SubscriptionIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(SubscriptionIndex.class);
+
+    private final SubscriptionRepository subscriptionRepository;
+
+    private volatile Map<Key, Thresholds> index;
+
+    // Guards index swaps against concurrent add/remove. While a rebuild is reading the database, every change is
+    // also recorded in pending and replayed onto the rebuilt map before it is published, so a change that committed
+    // after the read is not lost with the old map.
+    private final Object changes = new Object();
+    private List<Consumer<Map<Key, Thresholds>>> pending;
+
+    public SubscriptionIndex(SubscriptionRepository subscriptionRepository) {
+        this.subscriptionRepository = subscriptionRepository;
+    }
+
+    // Local create/disable keep this node current; the periodic rebuild picks up changes made on other nodes.
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "PT5M", initialDelayString = "PT5M")
+    public synchronized void rebuild() {
+        synchronized (changes) {
+            pending = new ArrayList<>();
+        }
+        try {
+            Map<Key, List<SubscriptionThreshold>> grouped = subscriptionRepository.findAllEnabledThresholds().stream()
+                    .collect(Collectors.groupingBy(entry -> new Key(entry.locationId(), entry.ruleType())));
+            Map<Key, Thresholds> rebuilt = new ConcurrentHashMap<>(grouped.size() * 2);
+            grouped.forEach((key, entries) -> rebuilt.put(key, Thresholds.of(entries)));
+            synchronized (changes) {
+                pending.forEach(change -> change.accept(rebuilt));
+                index = rebuilt;
+            }
+            log.info("subscription index rebuilt keys={}, subscriptions={}", rebuilt.size(),
+                    rebuilt.values().stream().mapToInt(Thresholds::size).sum());
+        } finally {
+            synchronized (changes) {
+                pending = null;
+            }
+        }
+    }
+
+    public void add(SubscriptionThreshold subscription) {
+        apply(current -> current.compute(new Key(subscription.locationId(), subscription.ruleType()),
+                (key, thresholds) -> (thresholds == null ? Thresholds.EMPTY : thresholds)
+                        .with(subscription.subscriptionId(), subscription.threshold())));
+    }
+
+    public void remove(SubscriptionThreshold subscription) {
+        apply(current -> current.computeIfPresent(new Key(subscription.locationId(), subscription.ruleType()), (key, thresholds) -> {
+            Thresholds remaining = thresholds.without(subscription.subscriptionId());
+            return remaining.size() == 0 ? null : remaining;
+        }));
+    }
+
+    // Both changes are idempotent, so replaying one the rebuild's read already reflects is harmless.
+    private void apply(Consumer<Map<Key, Thresholds>> change) {
+        current();
+        synchronized (changes) {
+            change.accept(index);
+            if (pending != null) {
+                pending.add(change);
+            }
+        }
+    }
+
+    public List<SubscriptionThreshold> match(UUID locationId, Double temperatureC, Double precipitationMm) {
+        Map<Key, Thresholds> current = current();
+        List<SubscriptionThreshold> matches = new ArrayList<>();
+        if (temperatureC != null) {
+            // TEMP_BELOW fires for thresholds strictly above the reading, TEMP_ABOVE for those strictly below it.
+            collect(current, locationId, RuleType.TEMP_BELOW, temperatureC, matches);
+            collect(current, locationId, RuleType.TEMP_ABOVE, temperatureC, matches);
+        }
+        if (precipitationMm != null) {
+            collect(current, locationId, RuleType.PRECIP_ABOVE, precipitationMm, matches);
+        }
+        return matches;
+    }
+
+    private static void collect(Map<Key, Thresholds> current, UUID locationId, RuleType ruleType, double value,
+                                List<SubscriptionThreshold> matches) {
+        Thresholds thresholds = current.get(new Key(locationId, ruleType));
+        if (thresholds == null) {
+            return;
+        }
+        int from;
+        int to;
+        if (ruleType == RuleType.TEMP_BELOW) {
+            from = thresholds.upperBound(value);
+            to = thresholds.size();
+        } else {
+            from = 0;
+            to = thresholds.lowerBound(value);
+        }
+        for (int i = from; i < to; i++) {
+            matches.add(new SubscriptionThreshold(thresholds.ids[i], locationId, ruleType, thresholds.values[i]));
+        }
+    }
+
+    private Map<Key, Thresholds> current() {
+        Map<Key, Thresholds> current = index;
+        if (current == null) {
+            synchronized (this) {
+                if (index == null) {
+                    rebuild();
+                }
+                current = index;
+            }
+        }
+        return current;
+    }
+
+    private record Key(UUID locationId, RuleType ruleType) {
+    }
+
+    // Immutable; updates copy the arrays, which is cheap next to how often snapshots are matched.
+    private static final class Thresholds {
+
+        static final Thresholds EMPTY = new Thresholds(new double[0], new UUID[0]);
+
+        final double[] values;
+        final UUID[] ids;
+
+        private Thresholds(double[] values, UUID[] ids) {
+            this.values = values;
+            this.ids = ids;
+        }
+
+        static Thresholds of(List<SubscriptionThreshold> entries) {
+            List<SubscriptionThreshold> sorted = new ArrayList<>(entries);
+            sorted.sort(Comparator.comparingDouble(SubscriptionThreshold::threshold));
+            double[] values = new double[sorted.size()];
+            UUID[] ids = new UUID[sorted.size()];
+            for (int i = 0; i < sorted.size(); i++) {
+                values[i] = sorted.get(i).threshold();
+                ids[i] = sorted.get(i).subscriptionId();
+            }
+            return new Thresholds(values, ids);
+        }
+
+        int size() {
+            return values.length;
+        }
+
+        Thresholds with(UUID id, double value) {
+            Thresholds base = without(id);
+            int at = base.upperBound(value);
+            double[] values = new double[base.size() + 1];
+            UUID[] ids = new UUID[base.size() + 1];
+            System.arraycopy(base.values, 0, values, 0, at);
+            System.arraycopy(base.ids, 0, ids, 0, at);
+            values[at] = value;
+            ids[at] = id;
+            System.arraycopy(base.values, at, values, at + 1, base.size() - at);
+            System.arraycopy(base.ids, at, ids, at + 1, base.size() - at);
+            return new Thresholds(values, ids);
+        }
+
+        Thresholds without(UUID id) {
+            int at = Arrays.asList(ids).indexOf(id);
+            if (at < 0) {
+                return this;
+            }
+            double[] values = new double[size() - 1];
+            UUID[] ids = new UUID[size() - 1];
+            System.arraycopy(this.values, 0, values, 0, at);
+            System.arraycopy(this.ids, 0, ids, 0, at);
+            System.arraycopy(this.values, at + 1, values, at, size() - at - 1);
+            System.arraycopy(this.ids, at + 1, ids, at, size() - at - 1);
+            return new Thresholds(values, ids);
+        }
+
+        // First index whose value is >= the given value.
+        int lowerBound(double value) {
+            int low = 0;
+            int high = values.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (values[mid] < value) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        // First index whose value is > the given value.
+        int upperBound(double value) {
+            int low = 0;
+            int high = values.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (values[mid] <= value) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -1,18 +1,29 @@
 package com.portfolio.weatheralert.service;
 
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import com.portfolio.weatheralert.domain.AppUser;
 import com.portfolio.weatheralert.domain.Location;
+import com.portfolio.weatheralert.domain.RuleType;
 import com.portfolio.weatheralert.domain.Subscription;
+import com.portfolio.weatheralert.domain.SubscriptionTriggerState;
+import com.portfolio.weatheralert.notification.LogNotificationChannel;
+import com.portfolio.weatheralert.notification.NotificationChannel;
 import com.portfolio.weatheralert.repository.AppUserRepository;
 import com.portfolio.weatheralert.repository.LocationRepository;
 import com.portfolio.weatheralert.repository.SubscriptionRepository;
+import com.portfolio.weatheralert.repository.SubscriptionThreshold;
+import com.portfolio.weatheralert.repository.SubscriptionTriggerStateRepository;
 import com.portfolio.weatheralert.service.dto.CreateSubscriptionRequest;
 import com.portfolio.weatheralert.service.dto.SubscriptionResponse;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Service
 public class SubscriptionService {
@@ -20,13 +31,22 @@ public class SubscriptionService {
     private final AppUserRepository appUserRepository;
     private final LocationRepository locationRepository;
     private final SubscriptionRepository subscriptionRepository;
+    private final SubscriptionTriggerStateRepository triggerStateRepository;
+    private final SubscriptionIndex subscriptionIndex;
+    private final Set<String> channels;
 
     public SubscriptionService(AppUserRepository appUserRepository,
                                LocationRepository locationRepository,
-                               SubscriptionRepository subscriptionRepository) {
+                               SubscriptionRepository subscriptionRepository,
+                               SubscriptionTriggerStateRepository triggerStateRepository,
+                               SubscriptionIndex subscriptionIndex,
+                               List<NotificationChannel> channels) {
         this.appUserRepository = appUserRepository;
         this.locationRepository = locationRepository;
         this.subscriptionRepository = subscriptionRepository;
+        this.triggerStateRepository = triggerStateRepository;
+        this.subscriptionIndex = subscriptionIndex;
+        this.channels = channels.stream().map(NotificationChannel::name).collect(Collectors.toUnmodifiableSet());
     }
 
     @Transactional
@@ -39,10 +59,56 @@ public class SubscriptionService {
         Location location = locationRepository.findById(locationId)
                 .orElseThrow(() -> new EntityNotFoundException("location not found: " + locationId));
 
+        // The hourly forecast carries temperatures only, so precipitation rules stay on observed snapshots.
+        if (request.leadHours() != null && request.ruleType() == RuleType.PRECIP_ABOVE) {
+            throw new InvalidSubscriptionException("leadHours is not supported for " + RuleType.PRECIP_ABOVE);
+        }
+
+        String channel = request.channel() == null ? LogNotificationChannel.NAME : request.channel();
+        if (!channels.contains(channel)) {
+            throw new InvalidSubscriptionException("unknown notification channel: " + channel);
+        }
+
         Subscription saved = subscriptionRepository.save(
-                new Subscription(user, location, request.ruleType(), request.threshold())
+                new Subscription(user, location, request.ruleType(), request.threshold(), request.leadHours(), channel)
         );
+        triggerStateRepository.save(new SubscriptionTriggerState(saved.getId()));
+        if (saved.getLeadHours() == null) {
+            SubscriptionThreshold entry = toThreshold(saved);
+            afterCommit(() -> subscriptionIndex.add(entry));
+        }
         return SubscriptionResponse.from(saved);
     }
+
+    @Transactional
+    public SubscriptionResponse disable(UUID subscriptionId) {
+        Subscription subscription = subscriptionRepository.findById(subscriptionId)
+                .orElseThrow(() -> new EntityNotFoundException("subscription not found: " + subscriptionId));
+
+        subscription.disable();
+        SubscriptionThreshold entry = toThreshold(subscription);
+        afterCommit(() -> subscriptionIndex.remove(entry));
+        return SubscriptionResponse.from(subscription);
+    }
+
+    private static SubscriptionThreshold toThreshold(Subscription subscription) {
+        return new SubscriptionThreshold(
+                subscription.getId(),
+                subscription.getLocation().getId(),
+                subscription.getRuleType(),
+                subscription.getThreshold(),
+                subscription.getLeadHours()
+        );
+    }
+
+    // The index only sees subscriptions whose transaction actually committed.
+    private static void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
 }
 
@@ -1,55 +1,111 @@
 package com.portfolio.weatheralert.service;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
+import com.portfolio.weatheralert.cache.SingleFlightLoader;
 import com.portfolio.weatheralert.domain.Location;
 import com.portfolio.weatheralert.repository.LocationRepository;
 import com.portfolio.weatheralert.service.dto.HourlyWeatherResponse;
 import com.portfolio.weatheralert.service.dto.HourlyWeatherResponse.HourlyWeatherPoint;
 import com.portfolio.weatheralert.weather.HourlyForecast;
-import com.portfolio.weatheralert.weather.HourlyForecastPoint;
 import com.portfolio.weatheralert.weather.OpenMeteoClient;
 import com.portfolio.weatheralert.weather.WeatherProviderUnavailableException;
 import jakarta.persistence.EntityNotFoundException;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class WeatherForecastService {
 
+    static final String CACHE = "hourlyWeather";
+    public static final int HORIZON_HOURS = 168;
+
     private final LocationRepository locationRepository;
     private final OpenMeteoClient openMeteoClient;
+    private final Cache cache;
+    private final SingleFlightLoader singleFlightLoader;
+    private final Duration softTtl;
+    private final Clock clock;
 
-    public WeatherForecastService(LocationRepository locationRepository, OpenMeteoClient openMeteoClient) {
+    public WeatherForecastService(LocationRepository locationRepository,
+                                  OpenMeteoClient openMeteoClient,
+                                  CacheManager cacheManager,
+                                  SingleFlightLoader singleFlightLoader,
+                                  CacheTtlProperties cacheTtlProperties,
+                                  Clock clock) {
         this.locationRepository = locationRepository;
         this.openMeteoClient = openMeteoClient;
+        this.cache = cacheManager.getCache(CACHE);
+        this.singleFlightLoader = singleFlightLoader;
+        this.softTtl = cacheTtlProperties.hourlyWeatherSoftTtl();
+        this.clock = clock;
     }
 
-    @Transactional(readOnly = true)
-    @Cacheable(cacheNames = "hourlyWeather", key = "#locationId + ':' + #hours")
+    // One full-horizon forecast is cached per location and every hours value is cut from it, instead of one
+    // provider call and cache entry per (location, hours). Concurrent misses share a single provider call, so an
+    // expiring popular entry does not spend a rate-limiter permit per request (or trip the circuit breaker). No
+    // transaction here: waiters must not hold a connection while the leader is talking to the provider.
+    //
+    // Past the soft TTL the cached forecast is still returned at once and renewed in the background, so a slow or
+    // unavailable provider only costs freshness until the hard TTL; fetchedAt tells the caller how old it is.
     public HourlyWeatherResponse getHourly(UUID locationId, int hours) {
+        Instant now = clock.instant();
+        HourlyWeatherResponse cached = cache.get(locationId, HourlyWeatherResponse.class);
+        if (cached == null) {
+            cached = load(locationId);
+        } else if (cached.fetchedAt().plus(softTtl).isBefore(now)) {
+            singleFlightLoader.refresh(cache, locationId, HourlyWeatherResponse.class, () -> fetchHourly(locationId));
+        }
+        return cached.slice(hours, now);
+    }
+
+    // For ForecastAlertScheduler: any cached forecast is used as is, without a background refresh. The job visits
+    // every forecast-subscribed location each run, and refreshing all of them past the soft TTL would spend the
+    // openMeteo rate limit that ingest polls with. Only a missing entry (past the hard TTL) is fetched.
+    public HourlyWeatherResponse getHourlyForEvaluation(UUID locationId) {
+        HourlyWeatherResponse cached = cache.get(locationId, HourlyWeatherResponse.class);
+        if (cached == null) {
+            cached = load(locationId);
+        }
+        return cached.slice(HORIZON_HOURS, clock.instant());
+    }
+
+    private HourlyWeatherResponse load(UUID locationId) {
+        return singleFlightLoader.get(cache, locationId, HourlyWeatherResponse.class, () -> fetchHourly(locationId));
+    }
+
+    private HourlyWeatherResponse fetchHourly(UUID locationId) {
         Location location = locationRepository.findById(locationId)
                 .orElseThrow(() -> new EntityNotFoundException("location not found: " + locationId));
 
-        HourlyForecast forecast = openMeteoClient.fetchHourlyForecast(location.getLatitude(), location.getLongitude(), hours)
+        HourlyForecast forecast = openMeteoClient.fetchHourlyForecast(location.getLatitude(), location.getLongitude(), HORIZON_HOURS)
                 .orElseThrow(() -> new WeatherProviderUnavailableException("hourly forecast unavailable"));
 
-        List<HourlyWeatherPoint> points = forecast.points().stream()
-                .map(WeatherForecastService::toDto)
-                .toList();
+        List<HourlyWeatherPoint> points = new ArrayList<>(forecast.size());
+        for (int i = 0; i < forecast.size(); i++) {
+            points.add(toDto(forecast, i));
+        }
 
-        return HourlyWeatherResponse.of(locationId, hours, points);
+        return HourlyWeatherResponse.of(locationId, HORIZON_HOURS, clock.instant(), points);
     }
 
-    private static HourlyWeatherPoint toDto(HourlyForecastPoint point) {
+    private static HourlyWeatherPoint toDto(HourlyForecast forecast, int index) {
         return new HourlyWeatherPoint(
-                point.time(),
-                point.temperatureC(),
-                point.apparentTemperatureC(),
-                point.weatherCode()
+                forecast.time(index),
+                nullIfNaN(forecast.temperatureC(index)),
+                nullIfNaN(forecast.apparentTemperatureC(index)),
+                forecast.hasWeatherCode(index) ? forecast.weatherCode(index) : null
         );
     }
+
+    private static Double nullIfNaN(double value) {
+        return Double.isNaN(value) ? null : value;
+    }
 }
 
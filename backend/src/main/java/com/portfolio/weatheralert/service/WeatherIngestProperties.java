@@ -0,0 +1,12 @@
+package com.portfolio.weatheralert.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "weather.ingest")
+public record WeatherIngestProperties(
+        int parallelism,
+        int batchSize,
+        int commitChunkSize,
+        double gridResolution
+) {
+}
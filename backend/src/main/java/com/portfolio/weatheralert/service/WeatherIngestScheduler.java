@@ -0,0 +1,98 @@
+package com.portfolio.weatheralert.service;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import com.portfolio.weatheralert.domain.Location;
+import com.portfolio.weatheralert.weather.Coordinate;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.javacrumbs.shedlock.core.LockConfiguration;
+import net.javacrumbs.shedlock.core.LockingTaskExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class WeatherIngestScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(WeatherIngestScheduler.class);
+
+    static final String LOCK_PREFIX = "weather_ingest_shard_";
+    static final String LOCATIONS_METRIC = "weather.ingest.locations";
+
+    private final WeatherIngestService weatherIngestService;
+    private final LockingTaskExecutor lockingTaskExecutor;
+    private final IngestShardProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+
+    public WeatherIngestScheduler(WeatherIngestService weatherIngestService,
+                                  LockingTaskExecutor lockingTaskExecutor,
+                                  IngestShardProperties properties,
+                                  MeterRegistry meterRegistry,
+                                  Clock clock) {
+        this.weatherIngestService = weatherIngestService;
+        this.lockingTaskExecutor = lockingTaskExecutor;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+    }
+
+    @Scheduled(cron = "0 * * * * *")
+    public void scheduledIngest() {
+        int shards = Math.max(properties.shards(), 1);
+        Instant deadline = clock.instant().plus(properties.tickWindow());
+        List<Map<Coordinate, List<Location>>> slices = weatherIngestService.loadShards(shards, clock.instant());
+        IngestProgress progress = new IngestProgress();
+
+        // Every node walks the shards in its own random order and skips the ones another node holds,
+        // so work spreads over whichever nodes are alive without any membership bookkeeping.
+        List<Integer> order = new ArrayList<>(IntStream.range(0, shards).boxed().toList());
+        Collections.shuffle(order);
+        for (int shard : order) {
+            Map<Coordinate, List<Location>> cells = slices.get(shard);
+            if (cells.isEmpty()) {
+                continue;
+            }
+            try {
+                lockingTaskExecutor.executeWithLock((Runnable) () -> ingestLocked(cells, progress, deadline), lockConfiguration(shard));
+            } catch (RuntimeException e) {
+                log.warn("ingest shard failed shard={}, err={}", shard, e.toString());
+            }
+        }
+        record(progress);
+    }
+
+    // The slices were loaded before any lock was held, and a shard's lock outlives its run by lockAtLeastFor, so a
+    // shard that becomes free mid-tick may have just been polled by another node: only what is still due is fetched.
+    private void ingestLocked(Map<Coordinate, List<Location>> cells, IngestProgress progress, Instant deadline) {
+        Map<Coordinate, List<Location>> due = weatherIngestService.stillDue(cells, clock.instant());
+        if (!due.isEmpty()) {
+            weatherIngestService.ingestCells(due, progress, deadline);
+        }
+    }
+
+    // Deferred locations ran out of provider budget and stay due; failed ones were attempted and lost.
+    private void record(IngestProgress progress) {
+        if (progress.total() == 0) {
+            return;
+        }
+        meterRegistry.counter(LOCATIONS_METRIC, "outcome", "done").increment(progress.done());
+        meterRegistry.counter(LOCATIONS_METRIC, "outcome", "skipped").increment(progress.skipped());
+        meterRegistry.counter(LOCATIONS_METRIC, "outcome", "failed").increment(progress.failed());
+        meterRegistry.counter(LOCATIONS_METRIC, "outcome", "deferred").increment(progress.deferred());
+        log.info("ingest tick total={}, done={}, skipped={}, failed={}, deferred={}",
+                progress.total(), progress.done(), progress.skipped(), progress.failed(), progress.deferred());
+    }
+
+    private LockConfiguration lockConfiguration(int shard) {
+        return new LockConfiguration(clock.instant(), LOCK_PREFIX + shard,
+                properties.lockAtMostFor(), properties.lockAtLeastFor());
+    }
+}
@@ -1,95 +1,191 @@
 package com.portfolio.weatheralert.service;
 
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import com.portfolio.weatheralert.domain.Location;
-import com.portfolio.weatheralert.domain.WeatherSnapshot;
 import com.portfolio.weatheralert.repository.LocationRepository;
-import com.portfolio.weatheralert.repository.WeatherSnapshotRepository;
+import com.portfolio.weatheralert.weather.Coordinate;
 import com.portfolio.weatheralert.weather.OpenMeteoClient;
 import com.portfolio.weatheralert.weather.WeatherObservation;
-import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
-import org.springframework.cache.Cache;
-import org.springframework.cache.CacheManager;
-import org.springframework.scheduling.annotation.Scheduled;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class WeatherIngestService {
 
-    private static final String SOURCE = "open-meteo";
+    private static final Logger log = LoggerFactory.getLogger(WeatherIngestService.class);
 
     private final LocationRepository locationRepository;
-    private final WeatherSnapshotRepository weatherSnapshotRepository;
     private final OpenMeteoClient openMeteoClient;
-    private final AlertEvaluationService alertEvaluationService;
-    private final CacheManager cacheManager;
+    private final WeatherSnapshotWriter weatherSnapshotWriter;
+    private final LocationPollScheduler locationPollScheduler;
+    private final WeatherIngestProperties properties;
+    private final RateLimiter providerRateLimiter;
+    private final Clock clock;
 
     public WeatherIngestService(LocationRepository locationRepository,
-                               WeatherSnapshotRepository weatherSnapshotRepository,
                                OpenMeteoClient openMeteoClient,
-                               AlertEvaluationService alertEvaluationService,
-                               CacheManager cacheManager) {
+                               WeatherSnapshotWriter weatherSnapshotWriter,
+                               LocationPollScheduler locationPollScheduler,
+                               WeatherIngestProperties properties,
+                               RateLimiterRegistry rateLimiterRegistry,
+                               Clock clock) {
         this.locationRepository = locationRepository;
-        this.weatherSnapshotRepository = weatherSnapshotRepository;
         this.openMeteoClient = openMeteoClient;
-        this.alertEvaluationService = alertEvaluationService;
-        this.cacheManager = cacheManager;
+        this.weatherSnapshotWriter = weatherSnapshotWriter;
+        this.locationPollScheduler = locationPollScheduler;
+        this.properties = properties;
+        this.providerRateLimiter = rateLimiterRegistry.rateLimiter(OpenMeteoClient.RESILIENCE_INSTANCE);
+        this.clock = clock;
     }
 
-    @Scheduled(cron = "0 */5 * * * *")
-    @SchedulerLock(name = "weather_ingest", lockAtMostFor = "PT4M", lockAtLeastFor = "PT10S")
-    public void scheduledIngest() {
-        ingestAllLocations();
+    public void ingestAllLocations() {
+        ingestAllLocations(new IngestProgress());
     }
 
-    @Transactional
-    public void ingestAllLocations() {
-        List<Location> locations = locationRepository.findAll();
-        for (Location location : locations) {
-            openMeteoClient.fetchCurrent(location.getLatitude(), location.getLongitude())
-                    .ifPresent(observation -> upsertSnapshot(location, observation));
+    // A manual run has no window to fit into, so it waits for provider budget instead of deferring.
+    public void ingestAllLocations(IngestProgress progress) {
+        ingestCells(ProviderGrid.group(locationRepository.findAll(), properties.gridResolution()), progress, Instant.MAX);
+    }
+
+    // Shards are cut along grid cells rather than single locations so a cell is still fetched exactly once.
+    public List<Map<Coordinate, List<Location>>> loadShards(int shards, Instant now) {
+        List<Map<Coordinate, List<Location>>> slices = new ArrayList<>(shards);
+        for (int i = 0; i < shards; i++) {
+            slices.add(new LinkedHashMap<>());
+        }
+        List<Location> due = locationRepository.findDueForPoll(now);
+        ProviderGrid.group(due, properties.gridResolution())
+                .forEach((cell, locations) -> slices.get(shardOf(cell, shards)).put(cell, locations));
+        return slices;
+    }
+
+    // Narrows pre-loaded cells to the locations that are still due; a cell left with none drops out.
+    public Map<Coordinate, List<Location>> stillDue(Map<Coordinate, List<Location>> cells, Instant now) {
+        List<UUID> ids = cells.values().stream()
+                .flatMap(List::stream)
+                .map(Location::getId)
+                .toList();
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return ProviderGrid.group(locationRepository.findDueForPoll(now, ids), properties.gridResolution());
+    }
+
+    public void ingestCells(Map<Coordinate, List<Location>> cells, IngestProgress progress, Instant deadline) {
+        progress.addTotal(cells.values().stream().mapToInt(List::size).sum());
+
+        // One provider call per grid cell; the observation fans out to every location inside it.
+        List<Coordinate> coordinates = new ArrayList<>(cells.keySet());
+        List<Optional<WeatherObservation>> observations = fetchAll(coordinates, new IngestPacer(providerRateLimiter, deadline, clock));
+
+        List<LocationObservation> fetched = new ArrayList<>(coordinates.size());
+        List<UUID> failed = new ArrayList<>();
+        for (int i = 0; i < coordinates.size(); i++) {
+            List<Location> cellLocations = cells.get(coordinates.get(i));
+            if (i >= observations.size()) {
+                // Still due, so the next window picks these up ahead of anything that was polled since.
+                progress.deferred(cellLocations.size());
+                continue;
+            }
+            Optional<WeatherObservation> observation = observations.get(i);
+            if (observation.isEmpty()) {
+                progress.failed(cellLocations.size());
+                cellLocations.forEach(location -> failed.add(location.getId()));
+                continue;
+            }
+            cellLocations.forEach(location -> fetched.add(new LocationObservation(location, observation.get())));
+        }
+
+        backoff(failed);
+
+        // Each chunk commits on its own, so a failing chunk only loses its own rows.
+        for (List<LocationObservation> chunk : partition(fetched, Math.max(properties.commitChunkSize(), 1))) {
+            try {
+                int written = weatherSnapshotWriter.write(chunk);
+                progress.done(written);
+                progress.skipped(chunk.size() - written);
+            } catch (RuntimeException e) {
+                log.warn("ingest chunk failed size={}, err={}", chunk.size(), e.toString());
+                progress.failed(chunk.size());
+            }
+        }
+    }
+
+    private void backoff(List<UUID> failed) {
+        try {
+            locationPollScheduler.backoff(failed);
+        } catch (RuntimeException e) {
+            log.warn("poll backoff not recorded size={}, err={}", failed.size(), e.toString());
         }
     }
 
-    private void upsertSnapshot(Location location, WeatherObservation observation) {
-        weatherSnapshotRepository.findByLocationIdAndObservedAtAndSource(location.getId(), observation.observedAt(), SOURCE)
-                .ifPresentOrElse(existing -> {
-                    boolean changed = existing.updateValues(
-                            observation.temperatureC(),
-                            observation.apparentTemperatureC(),
-                            observation.precipitationMm(),
-                            observation.weatherCode()
-                    );
-                    if (changed) {
-                        weatherSnapshotRepository.save(existing);
-                        evictCurrentWeatherCache(location.getId());
-                    }
-                }, () -> insertSnapshot(location, observation));
+    static int shardOf(Coordinate cell, int shards) {
+        int hash = 31 * Double.hashCode(cell.latitude()) + Double.hashCode(cell.longitude());
+        return Math.floorMod(hash, shards);
     }
 
-    private void insertSnapshot(Location location, WeatherObservation observation) {
-        WeatherSnapshot saved = weatherSnapshotRepository.save(
-                new WeatherSnapshot(
-                        location,
-                        observation.observedAt(),
-                        observation.temperatureC(),
-                        observation.apparentTemperatureC(),
-                        observation.precipitationMm(),
-                        observation.weatherCode(),
-                        SOURCE
-                )
-        );
-        evictCurrentWeatherCache(location.getId());
-        alertEvaluationService.evaluateSnapshot(saved);
+    // Observations come back for a prefix of the coordinates; the rest ran out of provider budget.
+    private List<Optional<WeatherObservation>> fetchAll(List<Coordinate> coordinates, IngestPacer pacer) {
+        List<List<Coordinate>> batches = partition(coordinates, Math.max(properties.batchSize(), 1));
+        int parallelism = Math.min(properties.parallelism(), batches.size());
+        if (parallelism <= 1) {
+            List<Optional<WeatherObservation>> observations = new ArrayList<>(coordinates.size());
+            for (List<Coordinate> batch : batches) {
+                if (!pacer.awaitPermit()) {
+                    break;
+                }
+                observations.addAll(fetchBatch(batch));
+            }
+            return observations;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, new CustomizableThreadFactory("weather-ingest-"));
+        try {
+            List<CompletableFuture<List<Optional<WeatherObservation>>>> futures = new ArrayList<>(batches.size());
+            for (List<Coordinate> batch : batches) {
+                if (!pacer.awaitPermit()) {
+                    break;
+                }
+                futures.add(CompletableFuture.supplyAsync(() -> fetchBatch(batch), executor));
+            }
+            return futures.stream()
+                    .flatMap(future -> future.join().stream())
+                    .toList();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<Optional<WeatherObservation>> fetchBatch(List<Coordinate> batch) {
+        try {
+            return openMeteoClient.fetchCurrentBatch(batch);
+        } catch (RuntimeException e) {
+            log.warn("ingest fetch failed batchSize={}, err={}", batch.size(), e.toString());
+            return Collections.nCopies(batch.size(), Optional.empty());
+        }
     }
 
-    private void evictCurrentWeatherCache(UUID locationId) {
-        Cache cache = cacheManager.getCache("currentWeather");
-        if (cache != null) {
-            cache.evict(locationId);
+    private static <T> List<List<T>> partition(List<T> items, int size) {
+        List<List<T>> partitions = new ArrayList<>((items.size() + size - 1) / size);
+        for (int from = 0; from < items.size(); from += size) {
+            partitions.add(items.subList(from, Math.min(from + size, items.size())));
         }
+        return partitions;
     }
 }
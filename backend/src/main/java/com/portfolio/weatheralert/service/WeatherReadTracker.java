@@ -0,0 +1,67 @@
+package com.portfolio.weatheralert.service;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.portfolio.weatheralert.repository.LocationPollScheduleRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component
+public class WeatherReadTracker {
+
+    // Only locations that exist are recorded (callers record after a successful read), and an entry is removed
+    // once its count has been flushed, so the map holds at most the locations read since the last flush.
+    private final Map<UUID, Long> reads = new ConcurrentHashMap<>();
+
+    private final LocationPollScheduleRepository locationPollScheduleRepository;
+    private final PollingProperties properties;
+    private final Clock clock;
+
+    public WeatherReadTracker(LocationPollScheduleRepository locationPollScheduleRepository,
+                              PollingProperties properties,
+                              Clock clock) {
+        this.locationPollScheduleRepository = locationPollScheduleRepository;
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    public void record(UUID locationId) {
+        reads.merge(locationId, 1L, Long::sum);
+    }
+
+    // Counts are kept per node and added to the shared schedule row, so whichever node polls sees every read.
+    // A location being read is pulled forward to poll within min-interval even if it had backed off.
+    @Scheduled(fixedDelayString = "PT30S")
+    @Transactional
+    public void flush() {
+        Instant pollBy = clock.instant().plus(properties.minInterval());
+        Map<UUID, Long> recorded = new HashMap<>();
+        for (Map.Entry<UUID, Long> entry : Map.copyOf(reads).entrySet()) {
+            // A location that has never been polled has no schedule row yet; its reads wait here until it has one.
+            if (locationPollScheduleRepository.recordReads(entry.getKey(), entry.getValue(), pollBy) > 0) {
+                recorded.put(entry.getKey(), entry.getValue());
+            }
+        }
+        // Taken off only once they are in the database: a failed flush leaves every count for the next one, and
+        // reads that arrived meanwhile stay behind as the remainder.
+        afterCommit(() -> recorded.forEach((locationId, count) ->
+                reads.computeIfPresent(locationId, (id, current) -> current > count ? current - count : null)));
+    }
+
+    private static void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
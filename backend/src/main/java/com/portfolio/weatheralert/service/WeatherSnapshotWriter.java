@@ -0,0 +1,121 @@
+package com.portfolio.weatheralert.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.portfolio.weatheralert.domain.SnapshotEvaluationOutbox;
+import com.portfolio.weatheralert.repository.SnapshotEvaluationOutboxRepository;
+import com.portfolio.weatheralert.repository.UpsertOutcome;
+import com.portfolio.weatheralert.repository.UpsertedSnapshot;
+import com.portfolio.weatheralert.repository.WeatherSnapshotRepository;
+import com.portfolio.weatheralert.repository.WeatherSnapshotUpsert;
+import com.portfolio.weatheralert.service.dto.CurrentWeatherResponse;
+import com.portfolio.weatheralert.weather.WeatherObservation;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Service
+public class WeatherSnapshotWriter {
+
+    static final String SOURCE = "open-meteo";
+
+    private final WeatherSnapshotRepository weatherSnapshotRepository;
+    private final SnapshotEvaluationOutboxRepository outboxRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
+    private final LocationPollScheduler locationPollScheduler;
+    private final AlertPipelineMetrics alertPipelineMetrics;
+
+    public WeatherSnapshotWriter(WeatherSnapshotRepository weatherSnapshotRepository,
+                                 SnapshotEvaluationOutboxRepository outboxRepository,
+                                 ApplicationEventPublisher eventPublisher,
+                                 CacheManager cacheManager,
+                                 LocationPollScheduler locationPollScheduler,
+                                 AlertPipelineMetrics alertPipelineMetrics) {
+        this.weatherSnapshotRepository = weatherSnapshotRepository;
+        this.outboxRepository = outboxRepository;
+        this.eventPublisher = eventPublisher;
+        this.cacheManager = cacheManager;
+        this.locationPollScheduler = locationPollScheduler;
+        this.alertPipelineMetrics = alertPipelineMetrics;
+    }
+
+    // Returns how many locations got a new or changed snapshot; the rest were already up to date.
+    @Transactional
+    public int write(List<LocationObservation> chunk) {
+        List<WeatherSnapshotUpsert> rows = chunk.stream()
+                .map(WeatherSnapshotWriter::toUpsert)
+                .toList();
+
+        List<SnapshotEvaluationOutbox> inserted = new ArrayList<>();
+        List<CurrentWeatherResponse> current = new ArrayList<>();
+        for (UpsertedSnapshot result : weatherSnapshotRepository.upsertAll(rows)) {
+            if (result.outcome() == UpsertOutcome.UNCHANGED) {
+                continue;
+            }
+            current.add(CurrentWeatherResponse.from(result));
+            if (result.outcome() == UpsertOutcome.INSERTED) {
+                inserted.add(new SnapshotEvaluationOutbox(result.id(), result.locationId()));
+                alertPipelineMetrics.snapshotStored(result.observedAt());
+            }
+        }
+
+        // Alerts are evaluated off the ingest path; this transaction only records which snapshots are ready.
+        if (!inserted.isEmpty()) {
+            outboxRepository.saveAll(inserted);
+            eventPublisher.publishEvent(new SnapshotsReadyEvent(inserted.stream()
+                    .map(row -> new SnapshotReady(row.getId(), row.getLocationId(), row.getCreatedAt()))
+                    .toList()));
+        }
+
+        // Write-through rather than evict, so readers never all miss together right after an ingest cycle.
+        afterCommit(() -> refreshCurrentWeatherCache(current));
+
+        locationPollScheduler.reschedule(chunk);
+        return current.size();
+    }
+
+    private static WeatherSnapshotUpsert toUpsert(LocationObservation entry) {
+        WeatherObservation observation = entry.observation();
+        return new WeatherSnapshotUpsert(
+                entry.location().getId(),
+                observation.observedAt(),
+                observation.temperatureC(),
+                observation.apparentTemperatureC(),
+                observation.precipitationMm(),
+                observation.weatherCode(),
+                SOURCE
+        );
+    }
+
+    // The upsert returns the row as stored, so the entry matches what WeatherQueryService would load. Ingest writes
+    // the provider's current observation, which is the newest one for its location.
+    private void refreshCurrentWeatherCache(List<CurrentWeatherResponse> current) {
+        Cache cache = cacheManager.getCache("currentWeather");
+        if (cache == null) {
+            return;
+        }
+        for (CurrentWeatherResponse response : current) {
+            cache.put(response.locationId(), response);
+        }
+    }
+
+    // Readers only see a snapshot once it has committed; outside a transaction the cache is updated at once.
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
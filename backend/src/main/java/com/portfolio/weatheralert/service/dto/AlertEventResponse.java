@@ -10,18 +10,20 @@ public record AlertEventResponse(
         UUID id,
         UUID subscriptionId,
         UUID snapshotId,
+        Instant forecastFor,
         AlertStatus status,
         String message,
         Instant createdAt,
         Instant sentAt
 ) {
-    public static AlertEventResponse from(AlertEvent event) {
+    public static AlertEventResponse from(AlertEvent event, String message) {
         return new AlertEventResponse(
                 event.getId(),
                 event.getSubscription().getId(),
-                event.getSnapshot().getId(),
+                event.getSnapshot() == null ? null : event.getSnapshot().getId(),
+                event.getForecastFor(),
                 event.getStatus(),
-                event.getMessage(),
+                message,
                 event.getCreatedAt(),
                 event.getSentAt()
         );
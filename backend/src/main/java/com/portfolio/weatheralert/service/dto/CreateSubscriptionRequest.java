@@ -3,13 +3,18 @@ package com.portfolio.weatheralert.service.dto;
 import java.util.UUID;
 
 import com.portfolio.weatheralert.domain.RuleType;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 
 public record CreateSubscriptionRequest(
         @NotNull UUID userId,
         @NotNull UUID locationId,
         @NotNull RuleType ruleType,
-        @NotNull Double threshold
+        @NotNull Double threshold,
+        @Min(1) @Max(168) Integer leadHours,
+        @Size(max = 32) String channel
 ) {
 }
 
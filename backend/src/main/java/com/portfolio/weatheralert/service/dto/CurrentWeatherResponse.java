@@ -4,6 +4,7 @@ import java.time.Instant;
 import java.util.UUID;
 
 import com.portfolio.weatheralert.domain.WeatherSnapshot;
+import com.portfolio.weatheralert.repository.UpsertedSnapshot;
 
 public record CurrentWeatherResponse(
         UUID locationId,
@@ -25,4 +26,16 @@ public record CurrentWeatherResponse(
                 snapshot.getSource()
         );
     }
+
+    public static CurrentWeatherResponse from(UpsertedSnapshot snapshot) {
+        return new CurrentWeatherResponse(
+                snapshot.locationId(),
+                snapshot.observedAt(),
+                snapshot.temperatureC(),
+                snapshot.apparentTemperatureC(),
+                snapshot.precipitationMm(),
+                snapshot.weatherCode(),
+                snapshot.source()
+        );
+    }
 }
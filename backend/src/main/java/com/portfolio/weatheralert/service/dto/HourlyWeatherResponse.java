@@ -1,6 +1,7 @@
 package com.portfolio.weatheralert.service.dto;
 
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.UUID;
 import java.util.function.Function;
@@ -28,10 +29,24 @@ public record HourlyWeatherResponse(
     ) {
     }
 
-    public static HourlyWeatherResponse of(UUID locationId, int hours, List<HourlyWeatherPoint> points) {
+    public static HourlyWeatherResponse of(UUID locationId, int hours, Instant fetchedAt, List<HourlyWeatherPoint> points) {
         TemperatureStats temperature = stats(points, HourlyWeatherPoint::temperatureC);
         TemperatureStats apparentTemperature = stats(points, HourlyWeatherPoint::apparentTemperatureC);
-        return new HourlyWeatherResponse(locationId, hours, Instant.now(), points, temperature, apparentTemperature);
+        return new HourlyWeatherResponse(locationId, hours, fetchedAt, points, temperature, apparentTemperature);
+    }
+
+    // Up to hours points starting at the current hour, with stats over just those; fetchedAt stays the original
+    // fetch time. A cached forecast can be hours old, so the ones already past are dropped first.
+    public HourlyWeatherResponse slice(int hours, Instant now) {
+        long currentHour = now.truncatedTo(ChronoUnit.HOURS).getEpochSecond();
+        int from = 0;
+        while (from < points.size() && points.get(from).time().getEpochSecond() < currentHour) {
+            from++;
+        }
+        if (from == 0 && hours == this.hours) {
+            return this;
+        }
+        return of(locationId, hours, fetchedAt, List.copyOf(points.subList(from, Math.min(from + hours, points.size()))));
     }
 
     private static TemperatureStats stats(List<HourlyWeatherPoint> points, Function<HourlyWeatherPoint, Double> extractor) {
@@ -0,0 +1,39 @@
+package com.portfolio.weatheralert.service.dto;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import com.portfolio.weatheralert.service.IngestJob;
+import com.portfolio.weatheralert.service.IngestJobStatus;
+import com.portfolio.weatheralert.service.IngestProgress;
+
+public record IngestJobResponse(
+        UUID id,
+        IngestJobStatus status,
+        int total,
+        int done,
+        int failed,
+        int skipped,
+        int deferred,
+        Instant startedAt,
+        Instant finishedAt,
+        long elapsedMs
+) {
+    public static IngestJobResponse from(IngestJob job, Instant now) {
+        IngestProgress progress = job.getProgress();
+        Instant end = job.getFinishedAt() != null ? job.getFinishedAt() : now;
+        return new IngestJobResponse(
+                job.getId(),
+                job.getStatus(),
+                progress.total(),
+                progress.done(),
+                progress.failed(),
+                progress.skipped(),
+                progress.deferred(),
+                job.getStartedAt(),
+                job.getFinishedAt(),
+                Duration.between(job.getStartedAt(), end).toMillis()
+        );
+    }
+}
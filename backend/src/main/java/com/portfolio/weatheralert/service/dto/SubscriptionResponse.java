@@ -12,6 +12,8 @@ public record SubscriptionResponse(
         UUID locationId,
         RuleType ruleType,
         double threshold,
+        Integer leadHours,
+        String channel,
         boolean enabled,
         Instant createdAt
 ) {
@@ -22,6 +24,8 @@ public record SubscriptionResponse(
                 subscription.getLocation().getId(),
                 subscription.getRuleType(),
                 subscription.getThreshold(),
+                subscription.getLeadHours(),
+                subscription.getChannel(),
                 subscription.isEnabled(),
                 subscription.getCreatedAt()
         );
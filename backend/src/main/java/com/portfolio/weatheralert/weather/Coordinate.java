@@ -0,0 +1,7 @@
+package com.portfolio.weatheralert.weather;
+
+public record Coordinate(
+        double latitude,
+        double longitude
+) {
+}
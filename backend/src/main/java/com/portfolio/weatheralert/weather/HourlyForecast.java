@@ -1,9 +1,56 @@
 package com.portfolio.weatheralert.weather;
 
-import java.util.List;
+import java.time.Instant;
 
-public record HourlyForecast(
-        List<HourlyForecastPoint> points
-) {
-}
+public final class HourlyForecast {
+
+    private final int size;
+    private final long[] epochSeconds;
+    private final double[] temperatureC;
+    private final double[] apparentTemperatureC;
+    private final int[] weatherCode;
+    private final long[] weatherCodePresent;
+
+    // Missing temperatures are NaN; missing weather codes are cleared bits in weatherCodePresent.
+    public HourlyForecast(int size,
+                          long[] epochSeconds,
+                          double[] temperatureC,
+                          double[] apparentTemperatureC,
+                          int[] weatherCode,
+                          long[] weatherCodePresent) {
+        this.size = size;
+        this.epochSeconds = epochSeconds;
+        this.temperatureC = temperatureC;
+        this.apparentTemperatureC = apparentTemperatureC;
+        this.weatherCode = weatherCode;
+        this.weatherCodePresent = weatherCodePresent;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long epochSecond(int index) {
+        return epochSeconds[index];
+    }
 
+    public Instant time(int index) {
+        return Instant.ofEpochSecond(epochSeconds[index]);
+    }
+
+    public double temperatureC(int index) {
+        return temperatureC[index];
+    }
+
+    public double apparentTemperatureC(int index) {
+        return apparentTemperatureC[index];
+    }
+
+    public boolean hasWeatherCode(int index) {
+        return (weatherCodePresent[index >>> 6] & (1L << index)) != 0;
+    }
+
+    public int weatherCode(int index) {
+        return weatherCode[index];
+    }
+}
@@ -0,0 +1,145 @@
+package com.portfolio.weatheralert.weather;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Optional;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Streams the {@code hourly} block of an Open-Meteo forecast straight into primitive columns,
+ * without binding boxed lists or per-hour objects.
+ */
+final class HourlyForecastParser {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private HourlyForecastParser() {
+    }
+
+    static Optional<HourlyForecast> parse(InputStream body, int expectedHours) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return Optional.empty();
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("hourly".equals(field) && value == JsonToken.START_OBJECT) {
+                    return parseHourly(parser, Math.max(expectedHours, 1));
+                }
+                parser.skipChildren();
+            }
+            return Optional.empty();
+        }
+    }
+
+    private static Optional<HourlyForecast> parseHourly(JsonParser parser, int capacity) throws IOException {
+        Columns columns = new Columns(capacity);
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                parser.skipChildren();
+                continue;
+            }
+            switch (field) {
+                case "time" -> columns.timeCount = readTimes(parser, columns);
+                case "temperature_2m" -> columns.temperatureC = readDoubles(parser, columns.temperatureC);
+                case "apparent_temperature" -> columns.apparentTemperatureC = readDoubles(parser, columns.apparentTemperatureC);
+                case "weather_code" -> readInts(parser, columns);
+                default -> parser.skipChildren();
+            }
+        }
+
+        return columns.timeCount == 0 ? Optional.empty() : Optional.of(columns.toForecast());
+    }
+
+    private static int readTimes(JsonParser parser, Columns columns) throws IOException {
+        int count = 0;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            columns.ensureCapacity(count + 1);
+            columns.epochSeconds[count++] = OpenMeteoTime.parseEpochSecond(
+                    parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+        }
+        return count;
+    }
+
+    private static double[] readDoubles(JsonParser parser, double[] target) throws IOException {
+        int index = 0;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (index == target.length) {
+                target = grow(target, index + 1);
+            }
+            target[index++] = parser.currentToken() == JsonToken.VALUE_NULL ? Double.NaN : parser.getDoubleValue();
+        }
+        return target;
+    }
+
+    private static void readInts(JsonParser parser, Columns columns) throws IOException {
+        int index = 0;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            columns.ensureCapacity(index + 1);
+            if (parser.currentToken() != JsonToken.VALUE_NULL) {
+                columns.weatherCode[index] = parser.getIntValue();
+                columns.weatherCodePresent[index >>> 6] |= 1L << index;
+            }
+            index++;
+        }
+    }
+
+    private static double[] grow(double[] array, int minCapacity) {
+        int previous = array.length;
+        double[] grown = Arrays.copyOf(array, Math.max(minCapacity, previous * 2));
+        Arrays.fill(grown, previous, grown.length, Double.NaN);
+        return grown;
+    }
+
+    private static final class Columns {
+        private int timeCount;
+        private long[] epochSeconds;
+        private double[] temperatureC;
+        private double[] apparentTemperatureC;
+        private int[] weatherCode;
+        private long[] weatherCodePresent;
+
+        Columns(int capacity) {
+            epochSeconds = new long[capacity];
+            temperatureC = nanFilled(capacity);
+            apparentTemperatureC = nanFilled(capacity);
+            weatherCode = new int[capacity];
+            weatherCodePresent = new long[(capacity + 63) >>> 6];
+        }
+
+        void ensureCapacity(int minCapacity) {
+            if (minCapacity <= epochSeconds.length && minCapacity <= weatherCode.length) {
+                return;
+            }
+            int capacity = Math.max(minCapacity, epochSeconds.length * 2);
+            epochSeconds = Arrays.copyOf(epochSeconds, capacity);
+            weatherCode = Arrays.copyOf(weatherCode, capacity);
+            weatherCodePresent = Arrays.copyOf(weatherCodePresent, (capacity + 63) >>> 6);
+        }
+
+        // Columns shorter than "time" read as missing rather than truncating the series.
+        HourlyForecast toForecast() {
+            if (temperatureC.length < timeCount) {
+                temperatureC = grow(temperatureC, timeCount);
+            }
+            if (apparentTemperatureC.length < timeCount) {
+                apparentTemperatureC = grow(apparentTemperatureC, timeCount);
+            }
+            ensureCapacity(timeCount);
+            return new HourlyForecast(timeCount, epochSeconds, temperatureC, apparentTemperatureC, weatherCode, weatherCodePresent);
+        }
+
+        private static double[] nanFilled(int capacity) {
+            double[] array = new double[capacity];
+            Arrays.fill(array, Double.NaN);
+            return array;
+        }
+    }
+}
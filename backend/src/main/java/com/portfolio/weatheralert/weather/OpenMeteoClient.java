@@ -1,13 +1,12 @@
 package com.portfolio.weatheralert.weather;
 
 import java.time.Instant;
-import java.time.LocalDateTime;
-import java.time.OffsetDateTime;
-import java.time.ZoneOffset;
-import java.time.format.DateTimeParseException;
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -22,6 +21,8 @@ import org.springframework.web.client.RestClient;
 @Component
 public class OpenMeteoClient {
 
+    public static final String RESILIENCE_INSTANCE = "openMeteo";
+
     private static final Logger log = LoggerFactory.getLogger(OpenMeteoClient.class);
 
     private final RestClient restClient;
@@ -30,9 +31,9 @@ public class OpenMeteoClient {
         this.restClient = openMeteoRestClient;
     }
 
-    @Retry(name = "openMeteo")
-    @RateLimiter(name = "openMeteo")
-    @CircuitBreaker(name = "openMeteo", fallbackMethod = "fetchCurrentFallback")
+    @Retry(name = RESILIENCE_INSTANCE)
+    @RateLimiter(name = RESILIENCE_INSTANCE)
+    @CircuitBreaker(name = RESILIENCE_INSTANCE, fallbackMethod = "fetchCurrentFallback")
     public Optional<WeatherObservation> fetchCurrent(double latitude, double longitude) {
         OpenMeteoResponse response = restClient.get()
                 .uri(uriBuilder -> uriBuilder
@@ -45,18 +46,7 @@ public class OpenMeteoClient {
                 .retrieve()
                 .body(OpenMeteoResponse.class);
 
-        if (response == null || response.current == null) {
-            return Optional.empty();
-        }
-
-        Instant observedAt = parseToInstant(response.current.time);
-        return Optional.of(new WeatherObservation(
-                observedAt,
-                response.current.temperature2m,
-                response.current.apparentTemperature,
-                response.current.precipitation,
-                response.current.weatherCode
-        ));
+        return toObservation(response);
     }
 
     @SuppressWarnings("unused")
@@ -65,13 +55,53 @@ public class OpenMeteoClient {
         return Optional.empty();
     }
 
-    @Retry(name = "openMeteo")
-    @RateLimiter(name = "openMeteo")
-    @CircuitBreaker(name = "openMeteo", fallbackMethod = "fetchHourlyForecastFallback")
+    // No @RateLimiter: batch callers take one permit per call from the same limiter (see IngestPacer). No @Retry
+    // either, since a retry would call the provider without a permit; a failed batch's locations stay due and are
+    // offered again on a later tick.
+    @CircuitBreaker(name = RESILIENCE_INSTANCE, fallbackMethod = "fetchCurrentBatchFallback")
+    public List<Optional<WeatherObservation>> fetchCurrentBatch(List<Coordinate> coordinates) {
+        if (coordinates.isEmpty()) {
+            return List.of();
+        }
+
+        RestClient.ResponseSpec spec = restClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/v1/forecast")
+                        .queryParam("latitude", join(coordinates, Coordinate::latitude))
+                        .queryParam("longitude", join(coordinates, Coordinate::longitude))
+                        .queryParam("current", "temperature_2m,apparent_temperature,precipitation,weather_code")
+                        .queryParam("timezone", "UTC")
+                        .build())
+                .retrieve();
+
+        // Open-Meteo answers a single coordinate with an object and several with an array.
+        List<OpenMeteoResponse> responses = coordinates.size() == 1
+                ? Collections.singletonList(spec.body(OpenMeteoResponse.class))
+                : bodyAsList(spec.body(OpenMeteoResponse[].class));
+
+        if (responses.size() != coordinates.size()) {
+            throw new WeatherProviderUnavailableException(
+                    "open-meteo batch returned " + responses.size() + " results for " + coordinates.size() + " coordinates");
+        }
+
+        return responses.stream()
+                .map(OpenMeteoClient::toObservation)
+                .toList();
+    }
+
+    @SuppressWarnings("unused")
+    private List<Optional<WeatherObservation>> fetchCurrentBatchFallback(List<Coordinate> coordinates, Throwable throwable) {
+        log.warn("open-meteo batch failed size={}, err={}", coordinates.size(), throwable.toString());
+        return Collections.nCopies(coordinates.size(), Optional.empty());
+    }
+
+    @Retry(name = RESILIENCE_INSTANCE)
+    @RateLimiter(name = RESILIENCE_INSTANCE)
+    @CircuitBreaker(name = RESILIENCE_INSTANCE, fallbackMethod = "fetchHourlyForecastFallback")
     public Optional<HourlyForecast> fetchHourlyForecast(double latitude, double longitude, int forecastHours) {
         int hours = clampForecastHours(forecastHours);
 
-        OpenMeteoResponse response = restClient.get()
+        return restClient.get()
                 .uri(uriBuilder -> uriBuilder
                         .path("/v1/forecast")
                         .queryParam("latitude", latitude)
@@ -80,29 +110,12 @@ public class OpenMeteoClient {
                         .queryParam("forecast_hours", hours)
                         .queryParam("timezone", "UTC")
                         .build())
-                .retrieve()
-                .body(OpenMeteoResponse.class);
-
-        if (response == null || response.hourly == null || response.hourly.time == null || response.hourly.time.isEmpty()) {
-            return Optional.empty();
-        }
-
-        List<String> times = response.hourly.time;
-        int size = times.size();
-        size = Math.min(size, safeSize(response.hourly.temperature2m));
-        size = Math.min(size, safeSize(response.hourly.apparentTemperature));
-        size = Math.min(size, safeSize(response.hourly.weatherCode));
-
-        List<HourlyForecastPoint> points = new ArrayList<>(size);
-        for (int i = 0; i < size; i++) {
-            Instant time = parseToInstant(times.get(i));
-            Double temperatureC = getOrNull(response.hourly.temperature2m, i);
-            Double apparentTemperatureC = getOrNull(response.hourly.apparentTemperature, i);
-            Integer weatherCode = getOrNull(response.hourly.weatherCode, i);
-            points.add(new HourlyForecastPoint(time, temperatureC, apparentTemperatureC, weatherCode));
-        }
-
-        return Optional.of(new HourlyForecast(points));
+                .exchange((request, response) -> {
+                    if (response.getStatusCode().isError()) {
+                        throw new WeatherProviderUnavailableException("open-meteo hourly status " + response.getStatusCode().value());
+                    }
+                    return HourlyForecastParser.parse(response.getBody(), hours);
+                });
     }
 
     @SuppressWarnings("unused")
@@ -111,43 +124,40 @@ public class OpenMeteoClient {
         return Optional.empty();
     }
 
-    private static Instant parseToInstant(String time) {
-        try {
-            return OffsetDateTime.parse(time).toInstant();
-        } catch (DateTimeParseException ignored) {
+    private static Optional<WeatherObservation> toObservation(OpenMeteoResponse response) {
+        if (response == null || response.current == null) {
+            return Optional.empty();
         }
 
-        try {
-            return LocalDateTime.parse(time).toInstant(ZoneOffset.UTC);
-        } catch (DateTimeParseException e) {
-            log.warn("Failed to parse open-meteo time='{}', fallback to now()", time);
-            return Instant.now();
-        }
+        Instant observedAt = OpenMeteoTime.parse(response.current.time);
+        return Optional.of(new WeatherObservation(
+                observedAt,
+                response.current.temperature2m,
+                response.current.apparentTemperature,
+                response.current.precipitation,
+                response.current.weatherCode
+        ));
     }
 
-    private static int clampForecastHours(int forecastHours) {
-        if (forecastHours <= 0) return 24;
-        return Math.min(forecastHours, 168);
+    private static String join(List<Coordinate> coordinates, ToDoubleFunction<Coordinate> component) {
+        return coordinates.stream()
+                .map(coordinate -> String.valueOf(component.applyAsDouble(coordinate)))
+                .collect(Collectors.joining(","));
     }
 
-    private static int safeSize(List<?> list) {
-        return list == null ? 0 : list.size();
+    private static List<OpenMeteoResponse> bodyAsList(OpenMeteoResponse[] body) {
+        return body == null ? List.of() : Arrays.asList(body);
     }
 
-    private static <T> T getOrNull(List<T> list, int index) {
-        if (list == null || index < 0 || index >= list.size()) {
-            return null;
-        }
-        return list.get(index);
+    private static int clampForecastHours(int forecastHours) {
+        if (forecastHours <= 0) return 24;
+        return Math.min(forecastHours, 168);
     }
 
     @JsonIgnoreProperties(ignoreUnknown = true)
     static final class OpenMeteoResponse {
         @JsonProperty("current")
         private Current current;
-
-        @JsonProperty("hourly")
-        private Hourly hourly;
     }
 
     @JsonIgnoreProperties(ignoreUnknown = true)
@@ -167,19 +177,4 @@ public class OpenMeteoClient {
         @JsonProperty("weather_code")
         private Integer weatherCode;
     }
-
-    @JsonIgnoreProperties(ignoreUnknown = true)
-    static final class Hourly {
-        @JsonProperty("time")
-        private List<String> time;
-
-        @JsonProperty("temperature_2m")
-        private List<Double> temperature2m;
-
-        @JsonProperty("apparent_temperature")
-        private List<Double> apparentTemperature;
-
-        @JsonProperty("weather_code")
-        private List<Integer> weatherCode;
-    }
 }
@@ -0,0 +1,104 @@
+package com.portfolio.weatheralert.weather;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+final class OpenMeteoTime {
+
+    private static final Logger log = LoggerFactory.getLogger(OpenMeteoTime.class);
+
+    private static final long NOT_PARSED = Long.MIN_VALUE;
+
+    private OpenMeteoTime() {
+    }
+
+    static Instant parse(String time) {
+        if (time == null) {
+            return fallback(null);
+        }
+        long epochSecond = parseLocalUtc(time.toCharArray(), 0, time.length());
+        return epochSecond != NOT_PARSED ? Instant.ofEpochSecond(epochSecond) : parseSlow(time);
+    }
+
+    static long parseEpochSecond(char[] buffer, int offset, int length) {
+        long epochSecond = parseLocalUtc(buffer, offset, length);
+        return epochSecond != NOT_PARSED
+                ? epochSecond
+                : parseSlow(new String(buffer, offset, length)).getEpochSecond();
+    }
+
+    // Open-Meteo sends "yyyy-MM-ddTHH:mm" (optionally ":ss") in the requested timezone, which is UTC.
+    private static long parseLocalUtc(char[] c, int o, int length) {
+        if ((length != 16 && length != 19)
+                || c[o + 4] != '-' || c[o + 7] != '-' || c[o + 10] != 'T' || c[o + 13] != ':'
+                || (length == 19 && c[o + 16] != ':')) {
+            return NOT_PARSED;
+        }
+
+        int year = digits(c, o, 4);
+        int month = digits(c, o + 5, 2);
+        int day = digits(c, o + 8, 2);
+        int hour = digits(c, o + 11, 2);
+        int minute = digits(c, o + 14, 2);
+        int second = length == 19 ? digits(c, o + 17, 2) : 0;
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            return NOT_PARSED;
+        }
+
+        return daysFromCivil(year, month, day) * 86_400L + hour * 3_600L + minute * 60L + second;
+    }
+
+    private static int digits(char[] c, int offset, int count) {
+        int value = 0;
+        for (int i = offset; i < offset + count; i++) {
+            int digit = c[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        return switch (month) {
+            case 2 -> (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    private static long daysFromCivil(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        int era = (y >= 0 ? y : y - 399) / 400;
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146_097L + dayOfEra - 719_468;
+    }
+
+    private static Instant parseSlow(String time) {
+        try {
+            return OffsetDateTime.parse(time).toInstant();
+        } catch (DateTimeParseException ignored) {
+        }
+
+        try {
+            return LocalDateTime.parse(time).toInstant(ZoneOffset.UTC);
+        } catch (DateTimeParseException e) {
+            return fallback(time);
+        }
+    }
+
+    private static Instant fallback(String time) {
+        log.warn("Failed to parse open-meteo time='{}', fallback to now()", time);
+        return Instant.now();
+    }
+}
@@ -0,0 +1,7 @@
+-- Each subscription names the channel its alerts are delivered through; existing ones keep the log channel.
+alter table subscriptions add column channel varchar(32) not null default 'log';
+
+-- A failed delivery goes back to PENDING until next_attempt_at; after the last attempt it is parked as DEAD_LETTER.
+alter table alert_events add column attempts integer not null default 0;
+alter table alert_events add column next_attempt_at timestamptz;
+alter table alert_events add column last_error varchar(255);
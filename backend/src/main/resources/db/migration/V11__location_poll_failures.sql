@@ -0,0 +1,2 @@
+-- Consecutive failed polls of a location; each one doubles how long it waits before the next attempt.
+alter table location_poll_schedules add column failed_polls integer not null default 0;
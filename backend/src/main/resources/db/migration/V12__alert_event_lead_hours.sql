@@ -0,0 +1,10 @@
+-- Forecast alerts keep the lead window they fired for, so editing the subscription later does not change past messages.
+alter table alert_events add column lead_hours integer;
+
+-- Existing rows can only take the subscription's current lead window. V8 backfilled rule_type and threshold the same
+-- way, so a row written before its subscription was changed renders with the newer rule rather than the one it fired on.
+update alert_events e
+   set lead_hours = s.lead_hours
+  from subscriptions s
+ where s.id = e.subscription_id
+   and e.snapshot_id is null;
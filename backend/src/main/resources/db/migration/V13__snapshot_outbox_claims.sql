@@ -0,0 +1,2 @@
+-- A relay leases the rows it hands to its lanes, so relays on other nodes skip them until the lease runs out.
+alter table snapshot_evaluation_outbox add column claimed_until timestamptz;
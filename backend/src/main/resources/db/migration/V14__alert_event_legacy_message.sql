@@ -0,0 +1,3 @@
+-- Databases that ran V8 before it kept the message column get it back, empty: the text it dropped is gone, and those
+-- rows render from the backfilled rule. Where V8 kept the column this is a no-op.
+alter table alert_events add column if not exists message varchar(500);
@@ -0,0 +1,13 @@
+create table location_poll_schedules
+(
+    location_id           uuid primary key references locations (id) on delete cascade,
+    next_poll_at          timestamptz      not null,
+    last_polled_at        timestamptz      not null,
+    poll_interval_seconds integer          not null,
+    recent_reads          bigint           not null default 0,
+    volatility            double precision not null default 0,
+    last_temperature_c    double precision,
+    last_precipitation_mm double precision
+);
+
+create index idx_location_poll_next on location_poll_schedules (next_poll_at);
@@ -0,0 +1,9 @@
+create table subscription_trigger_states
+(
+    subscription_id uuid primary key references subscriptions (id) on delete cascade,
+    armed           boolean     not null default true,
+    last_fired_at   timestamptz
+);
+
+insert into subscription_trigger_states (subscription_id)
+select id from subscriptions;
@@ -0,0 +1,6 @@
+-- lead_hours is null for subscriptions evaluated against observed snapshots.
+alter table subscriptions add column lead_hours integer;
+
+-- Forecast alerts have no snapshot behind them; forecast_for is the hour the crossing is expected.
+alter table alert_events alter column snapshot_id drop not null;
+alter table alert_events add column forecast_for timestamptz;
@@ -0,0 +1,10 @@
+-- One row per inserted snapshot that still has to be evaluated against subscriptions.
+-- Written in the ingest transaction; deleted in the transaction that records the snapshot's alerts.
+create table snapshot_evaluation_outbox
+(
+    snapshot_id uuid primary key references weather_snapshots (id) on delete cascade,
+    location_id uuid        not null,
+    created_at  timestamptz not null default now()
+);
+
+create index idx_snapshot_evaluation_outbox_created on snapshot_evaluation_outbox (created_at);
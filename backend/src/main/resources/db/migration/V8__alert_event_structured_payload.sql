@@ -0,0 +1,15 @@
+-- Alert rows keep the rule they fired on instead of a pre-rendered message; text is rendered when read or sent.
+alter table alert_events add column rule_type varchar(32);
+alter table alert_events add column threshold double precision;
+
+update alert_events e
+   set rule_type = s.rule_type,
+       threshold = s.threshold
+  from subscriptions s
+ where s.id = e.subscription_id;
+
+alter table alert_events alter column rule_type set not null;
+alter table alert_events alter column threshold set not null;
+-- The backfill can only take each subscription's current rule, so rows written before this keep their original text
+-- as a legacy column and render from it; new rows leave it null. To be dropped once those rows have aged out.
+alter table alert_events alter column message drop not null;
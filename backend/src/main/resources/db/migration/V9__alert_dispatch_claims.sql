@@ -0,0 +1,5 @@
+-- A dispatcher claims a batch by moving it to SENDING with a lease; rows whose lease ran out
+-- (the claiming node died mid-send) become claimable again.
+alter table alert_events add column claimed_until timestamptz;
+
+create index idx_alert_sending_claimed_until on alert_events (claimed_until) where status = 'SENDING';
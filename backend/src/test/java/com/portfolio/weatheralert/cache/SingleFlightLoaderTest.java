@@ -0,0 +1,116 @@
+package com.portfolio.weatheralert.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+class SingleFlightLoaderTest {
+
+    private static final CacheFillLockProperties PROPERTIES =
+            new CacheFillLockProperties(true, Duration.ofSeconds(2), Duration.ofMillis(10));
+
+    private final Cache cache = new ConcurrentMapCache("hourlyWeather");
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentMisses_shareOneLoad() throws Exception {
+        SingleFlightLoader loader = loader(CacheFillLock.LOCAL);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> callers = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            callers.add(executor.submit(() -> loader.get(cache, "seoul:24", String.class, () -> {
+                loads.incrementAndGet();
+                await(release);
+                return "forecast";
+            })));
+        }
+        Thread.sleep(200);
+        release.countDown();
+
+        for (Future<String> caller : callers) {
+            assertThat(caller.get(5, TimeUnit.SECONDS)).isEqualTo("forecast");
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(cache.get("seoul:24", String.class)).isEqualTo("forecast");
+    }
+
+    @Test
+    void failedLoad_isSharedWithWaiters_andNotCached() throws Exception {
+        SingleFlightLoader loader = loader(CacheFillLock.LOCAL);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> leader = executor.submit(() -> loader.get(cache, "seoul:24", String.class, () -> {
+            await(release);
+            throw new IllegalStateException("provider down");
+        }));
+        Thread.sleep(100);
+        Future<String> follower = executor.submit(() -> loader.get(cache, "seoul:24", String.class, () -> "unused"));
+        Thread.sleep(100);
+        release.countDown();
+
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasRootCauseMessage("provider down");
+        assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS)).hasRootCauseMessage("provider down");
+        assertThat(loader.get(cache, "seoul:24", String.class, () -> "recovered")).isEqualTo("recovered");
+    }
+
+    @Test
+    void lockHeldByAnotherNode_waitsForItsEntry() {
+        CacheFillLock heldElsewhere = new CacheFillLock() {
+            @Override
+            public boolean tryLock(String key, String token, Duration ttl) {
+                // The other node finishes its load shortly after we ask.
+                executor.submit(() -> {
+                    Thread.sleep(50);
+                    cache.put("seoul:24", "from other node");
+                    return null;
+                });
+                return false;
+            }
+
+            @Override
+            public void unlock(String key, String token) {
+            }
+        };
+
+        String value = loader(heldElsewhere).get(cache, "seoul:24", String.class, () -> "loaded here");
+
+        assertThat(value).isEqualTo("from other node");
+    }
+
+    private SingleFlightLoader loader(CacheFillLock fillLock) {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("cacheFillLock", fillLock);
+        return new SingleFlightLoader(beans.getBeanProvider(CacheFillLock.class), PROPERTIES, new SimpleMeterRegistry());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
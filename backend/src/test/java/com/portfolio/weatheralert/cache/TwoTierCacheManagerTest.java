@@ -0,0 +1,103 @@
+package com.portfolio.weatheralert.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+class TwoTierCacheManagerTest {
+
+    private static final NearCacheProperties PROPERTIES = new NearCacheProperties(
+            "invalidation",
+            Map.of("currentWeather", new NearCacheProperties.Spec(100, Duration.ofMinutes(1))));
+
+    // Stands in for Redis: one shared L2 plus a pub/sub channel that delivers to every subscribed node.
+    private final ConcurrentMapCacheManager redis = new ConcurrentMapCacheManager("currentWeather", "hourlyWeather");
+    private final List<TwoTierCacheManager> subscribers = new ArrayList<>();
+    private final Consumer<String> channel = message -> subscribers.forEach(node -> node.onInvalidation(message));
+
+    @Test
+    void get_fillsL1FromL2_andCountsEachTier() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        TwoTierCacheManager node = node(registry);
+        UUID key = UUID.randomUUID();
+        redis.getCache("currentWeather").put(key, "sunny");
+        Cache cache = node.getCache("currentWeather");
+
+        assertThat(cache.get(key).get()).isEqualTo("sunny");
+        assertThat(cache.get(key).get()).isEqualTo("sunny");
+        assertThat(cache.get(UUID.randomUUID())).isNull();
+
+        assertThat(count(registry, "l1", "hit")).isEqualTo(1);
+        assertThat(count(registry, "l1", "miss")).isEqualTo(2);
+        assertThat(count(registry, "l2", "hit")).isEqualTo(1);
+        assertThat(count(registry, "l2", "miss")).isEqualTo(1);
+        assertThat(ratio(registry, "l1")).isEqualTo(1.0 / 3);
+        assertThat(ratio(registry, "l2")).isEqualTo(0.5);
+    }
+
+    @Test
+    void evict_onOneNode_dropsTheOtherNodesL1Copy() {
+        TwoTierCacheManager writer = node(new SimpleMeterRegistry());
+        TwoTierCacheManager reader = node(new SimpleMeterRegistry());
+        UUID key = UUID.randomUUID();
+        writer.getCache("currentWeather").put(key, "sunny");
+        assertThat(reader.getCache("currentWeather").get(key).get()).isEqualTo("sunny");
+
+        writer.getCache("currentWeather").evict(key);
+
+        assertThat(reader.getCache("currentWeather").get(key)).isNull();
+    }
+
+    @Test
+    void put_onOneNode_isReadFreshByTheOther_whileOwnL1KeepsServing() {
+        SimpleMeterRegistry writerRegistry = new SimpleMeterRegistry();
+        TwoTierCacheManager writer = node(writerRegistry);
+        TwoTierCacheManager reader = node(new SimpleMeterRegistry());
+        UUID key = UUID.randomUUID();
+        writer.getCache("currentWeather").put(key, "sunny");
+        assertThat(reader.getCache("currentWeather").get(key).get()).isEqualTo("sunny");
+
+        writer.getCache("currentWeather").put(key, "rain");
+
+        assertThat(reader.getCache("currentWeather").get(key).get()).isEqualTo("rain");
+        assertThat(writer.getCache("currentWeather").get(key).get()).isEqualTo("rain");
+        assertThat(count(writerRegistry, "l1", "hit")).isEqualTo(1);
+    }
+
+    @Test
+    void cachesWithoutNearSpec_areServedStraightFromL2() {
+        TwoTierCacheManager node = node(new SimpleMeterRegistry());
+
+        assertThat(node.getCache("hourlyWeather")).isSameAs(redis.getCache("hourlyWeather"));
+    }
+
+    private TwoTierCacheManager node(SimpleMeterRegistry registry) {
+        TwoTierCacheManager node = new TwoTierCacheManager(redis, PROPERTIES, channel, registry);
+        subscribers.add(node);
+        return node;
+    }
+
+    private static double count(SimpleMeterRegistry registry, String tier, String result) {
+        return registry.get(TwoTierCacheManager.GETS_METRIC)
+                .tags("cache", "currentWeather", "tier", tier, "result", result)
+                .functionCounter()
+                .count();
+    }
+
+    private static double ratio(SimpleMeterRegistry registry, String tier) {
+        return registry.get(TwoTierCacheManager.HIT_RATIO_METRIC)
+                .tags("cache", "currentWeather", "tier", tier)
+                .gauge()
+                .value();
+    }
+}
@@ -0,0 +1,87 @@
+package com.portfolio.weatheralert.notification;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.Test;
+
+class WebhookNotificationChannelTest {
+
+    private static final AlertNotification ALERT = new AlertNotification(
+            UUID.randomUUID(), "[Seoul] rule=TEMP_BELOW 0.0", Instant.parse("2025-01-01T00:00:00Z"));
+    private static final AlertDigest DIGEST = new AlertDigest(UUID.randomUUID(), "user@example.com", List.of(ALERT));
+
+    @Test
+    void send_postsBatchAsOneJsonDocument() throws Exception {
+        try (MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().setResponseCode(204));
+            server.start();
+
+            channel(server, Duration.ofSeconds(2)).send(List.of(DIGEST, DIGEST)).get(5, TimeUnit.SECONDS);
+
+            RecordedRequest request = server.takeRequest();
+            assertThat(request.getMethod()).isEqualTo("POST");
+            assertThat(request.getHeader("Content-Type")).isEqualTo("application/json");
+            String body = request.getBody().readUtf8();
+            assertThat(body).startsWith("{\"digests\":[").contains(ALERT.alertId().toString(), "user@example.com");
+            assertThat(server.getRequestCount()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void send_failsRetryablyOnServerErrorAndPermanentlyOnClientError() throws Exception {
+        try (MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().setResponseCode(503));
+            server.enqueue(new MockResponse().setResponseCode(400));
+            server.start();
+            WebhookNotificationChannel channel = channel(server, Duration.ofSeconds(2));
+
+            assertThat(failureOf(channel.send(List.of(DIGEST))))
+                    .isInstanceOfSatisfying(NotificationDeliveryException.class, e -> assertThat(e.isRetryable()).isTrue());
+            assertThat(failureOf(channel.send(List.of(DIGEST))))
+                    .isInstanceOfSatisfying(NotificationDeliveryException.class, e -> assertThat(e.isRetryable()).isFalse());
+        }
+    }
+
+    @Test
+    void send_returnsBeforeSlowEndpointAnswersAndTimesOut() throws Exception {
+        try (MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse().setResponseCode(200).setHeadersDelay(2, TimeUnit.SECONDS));
+            server.start();
+
+            CompletableFuture<Void> sending = channel(server, Duration.ofMillis(500)).send(List.of(DIGEST));
+            assertThat(sending).isNotDone();
+
+            assertThat(failureOf(sending)).isInstanceOf(HttpTimeoutException.class);
+        }
+    }
+
+    private static WebhookNotificationChannel channel(MockWebServer server, Duration timeout) {
+        return new WebhookNotificationChannel(
+                HttpClient.newHttpClient(),
+                new NotificationProperties.Webhook(server.url("/hooks/alerts").uri(), timeout, 2),
+                new ObjectMapper().findAndRegisterModules());
+    }
+
+    private static Throwable failureOf(CompletableFuture<Void> sending) throws Exception {
+        try {
+            sending.get(5, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            return e.getCause();
+        }
+        throw new AssertionError("expected the send to fail");
+    }
+}
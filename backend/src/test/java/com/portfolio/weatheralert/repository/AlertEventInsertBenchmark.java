@@ -0,0 +1,108 @@
+package com.portfolio.weatheralert.repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import com.portfolio.weatheralert.WeatherAlertApplication;
+import com.portfolio.weatheralert.domain.AlertEvent;
+import com.portfolio.weatheralert.domain.AlertStatus;
+import com.portfolio.weatheralert.domain.AppUser;
+import com.portfolio.weatheralert.domain.Location;
+import com.portfolio.weatheralert.domain.RuleType;
+import com.portfolio.weatheralert.domain.Subscription;
+import com.portfolio.weatheralert.domain.WeatherSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Needs a scratch Postgres database: export SPRING_DATASOURCE_URL/USERNAME/PASSWORD/DRIVER_CLASS_NAME before running.
+// The test profile's H2 does not parse the bulk insert's targeted on conflict. The schema is created and dropped by Hibernate.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 20)
+@Fork(1)
+public class AlertEventInsertBenchmark {
+
+    @Param({"100", "2000"})
+    public int subscriptions;
+
+    private ConfigurableApplicationContext context;
+    private AlertEventRepository alertEventRepository;
+    private SubscriptionRepository subscriptionRepository;
+    private WeatherSnapshotRepository weatherSnapshotRepository;
+    private TransactionTemplate transactionTemplate;
+
+    private Location location;
+    private List<UUID> subscriptionIds;
+    private WeatherSnapshot snapshot;
+    private long observation;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(WeatherAlertApplication.class)
+                .profiles("test")
+                .web(WebApplicationType.NONE)
+                .run();
+        alertEventRepository = context.getBean(AlertEventRepository.class);
+        subscriptionRepository = context.getBean(SubscriptionRepository.class);
+        weatherSnapshotRepository = context.getBean(WeatherSnapshotRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+
+        AppUser user = context.getBean(AppUserRepository.class).save(new AppUser("bench-" + UUID.randomUUID() + "@example.com"));
+        location = context.getBean(LocationRepository.class).save(new Location("bench", Math.random() * 80, Math.random() * 170));
+        subscriptionIds = subscriptionRepository.saveAll(IntStream.range(0, subscriptions)
+                        .mapToObj(i -> new Subscription(user, location, RuleType.PRECIP_ABOVE, i * 0.01))
+                        .toList())
+                .stream()
+                .map(Subscription::getId)
+                .toList();
+    }
+
+    @Setup(Level.Invocation)
+    public void newSnapshot() {
+        snapshot = weatherSnapshotRepository.save(new WeatherSnapshot(
+                location, Instant.EPOCH.plusSeconds(observation++), 10.0, 10.0, 100.0, 63, "bench"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void perEntity() {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (UUID subscriptionId : subscriptionIds) {
+                alertEventRepository.save(new AlertEvent(
+                        subscriptionRepository.getReferenceById(subscriptionId), snapshot, RuleType.PRECIP_ABOVE, 0.0, AlertStatus.PENDING));
+            }
+        });
+    }
+
+    @Benchmark
+    public int bulk() {
+        List<AlertEventInsert> rows = subscriptionIds.stream()
+                .map(subscriptionId -> new AlertEventInsert(subscriptionId, snapshot.getId(), null, null, RuleType.PRECIP_ABOVE, 0.0, AlertStatus.PENDING))
+                .toList();
+        return transactionTemplate.execute(status -> alertEventRepository.insertAll(rows));
+    }
+}
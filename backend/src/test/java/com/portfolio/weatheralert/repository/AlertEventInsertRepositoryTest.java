@@ -0,0 +1,101 @@
+package com.portfolio.weatheralert.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import com.portfolio.weatheralert.domain.AlertStatus;
+import com.portfolio.weatheralert.domain.AppUser;
+import com.portfolio.weatheralert.domain.Location;
+import com.portfolio.weatheralert.domain.RuleType;
+import com.portfolio.weatheralert.domain.Subscription;
+import com.portfolio.weatheralert.domain.WeatherSnapshot;
+import com.portfolio.weatheralert.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.annotation.Transactional;
+
+// Postgres only: H2 does not parse the targeted on conflict.
+@Transactional
+class AlertEventInsertRepositoryTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private AppUserRepository appUserRepository;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private SubscriptionRepository subscriptionRepository;
+
+    @Autowired
+    private WeatherSnapshotRepository weatherSnapshotRepository;
+
+    @Autowired
+    private AlertEventRepository alertEventRepository;
+
+    @Test
+    void insertAll_skipsExistingPairsAndCountsCreatedRows() {
+        AppUser user = appUserRepository.save(new AppUser("bulk@example.com"));
+        Location location = locationRepository.save(new Location("Seoul", 37.5663, 126.9779));
+        Subscription cold = subscriptionRepository.save(new Subscription(user, location, RuleType.TEMP_BELOW, 5.0));
+        Subscription freezing = subscriptionRepository.save(new Subscription(user, location, RuleType.TEMP_BELOW, 0.0));
+        Subscription rain = subscriptionRepository.save(new Subscription(user, location, RuleType.PRECIP_ABOVE, 1.0));
+        WeatherSnapshot snapshot = weatherSnapshotRepository.saveAndFlush(new WeatherSnapshot(
+                location, Instant.parse("2025-01-01T00:00:00Z"), -2.0, -5.0, 3.0, 71, "test"));
+
+        int first = alertEventRepository.insertAll(List.of(
+                row(cold, snapshot),
+                row(freezing, snapshot)
+        ));
+        int second = alertEventRepository.insertAll(List.of(
+                row(cold, snapshot),
+                row(freezing, snapshot),
+                row(rain, snapshot)
+        ));
+
+        assertThat(first).isEqualTo(2);
+        assertThat(second).isEqualTo(1);
+        assertThat(alertEventRepository.findBySubscriptionUserIdOrderByCreatedAtDesc(user.getId()))
+                .hasSize(3)
+                .allSatisfy(event -> assertThat(event.getStatus()).isEqualTo(AlertStatus.PENDING));
+    }
+
+    @Test
+    void insertAll_stillFailsOnViolationsOutsideTheConflictTarget() {
+        Location location = locationRepository.save(new Location("Busan", 35.1796, 129.0756));
+        WeatherSnapshot snapshot = weatherSnapshotRepository.saveAndFlush(new WeatherSnapshot(
+                location, Instant.parse("2025-01-01T00:00:00Z"), -2.0, -5.0, 3.0, 71, "test"));
+
+        assertThatThrownBy(() -> alertEventRepository.insertAll(List.of(new AlertEventInsert(
+                UUID.randomUUID(), snapshot.getId(), null, null, RuleType.TEMP_BELOW, 0.0, AlertStatus.PENDING))))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void insertAll_keepsTheLeadWindowAForecastAlertFiredFor() {
+        AppUser user = appUserRepository.save(new AppUser("forecast@example.com"));
+        Location location = locationRepository.save(new Location("Jeju", 33.4996, 126.5312));
+        Subscription frost = subscriptionRepository.saveAndFlush(new Subscription(user, location, RuleType.TEMP_BELOW, 0.0, 12));
+        Instant forecastFor = Instant.parse("2025-01-01T06:00:00Z");
+
+        // Fired for a 6h window; the subscription has since been widened to 12h.
+        alertEventRepository.insertAll(List.of(new AlertEventInsert(
+                frost.getId(), null, forecastFor, 6, RuleType.TEMP_BELOW, 0.0, AlertStatus.PENDING)));
+
+        assertThat(alertEventRepository.findBySubscriptionUserIdOrderByCreatedAtDesc(user.getId())).singleElement()
+                .satisfies(event -> {
+                    assertThat(event.getLeadHours()).isEqualTo(6);
+                    assertThat(event.getForecastFor()).isEqualTo(forecastFor);
+                });
+    }
+
+    private static AlertEventInsert row(Subscription subscription, WeatherSnapshot snapshot) {
+        return new AlertEventInsert(
+                subscription.getId(), snapshot.getId(), null, null, subscription.getRuleType(), subscription.getThreshold(), AlertStatus.PENDING);
+    }
+}
@@ -0,0 +1,58 @@
+package com.portfolio.weatheralert.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import com.portfolio.weatheralert.domain.Location;
+import com.portfolio.weatheralert.domain.LocationPollSchedule;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@Transactional
+class LocationPollScheduleRepositoryTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private LocationPollScheduleRepository locationPollScheduleRepository;
+
+    @Test
+    void findDueForPoll_includesUnscheduledAndReadLocations() {
+        Location fresh = locationRepository.save(new Location("fresh", 37.1, 127.1));
+        Location idle = locationRepository.save(new Location("idle", 37.2, 127.2));
+        Location read = locationRepository.save(new Location("read", 37.3, 127.3));
+        schedule(idle, Duration.ofHours(1));
+        schedule(read, Duration.ofHours(1));
+
+        assertThat(locationRepository.findDueForPoll(NOW.plus(Duration.ofMinutes(10))))
+                .extracting(Location::getId)
+                .containsExactly(fresh.getId());
+
+        locationPollScheduleRepository.recordReads(read.getId(), 3, NOW.plus(Duration.ofMinutes(5)));
+
+        assertThat(locationRepository.findDueForPoll(NOW.plus(Duration.ofMinutes(10))))
+                .extracting(Location::getId)
+                .containsExactlyInAnyOrder(fresh.getId(), read.getId());
+        assertThat(locationPollScheduleRepository.findById(read.getId()))
+                .get()
+                .extracting(LocationPollSchedule::getRecentReads)
+                .isEqualTo(3L);
+    }
+
+    private void schedule(Location location, Duration interval) {
+        LocationPollSchedule schedule = new LocationPollSchedule(location.getId());
+        schedule.recordObservation(NOW, 1.0, 0.0);
+        schedule.scheduleNext(NOW.plus(interval), interval);
+        locationPollScheduleRepository.saveAndFlush(schedule);
+    }
+}
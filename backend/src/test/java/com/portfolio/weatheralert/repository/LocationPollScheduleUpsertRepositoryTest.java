@@ -0,0 +1,79 @@
+package com.portfolio.weatheralert.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import com.portfolio.weatheralert.domain.Location;
+import com.portfolio.weatheralert.domain.LocationPollSchedule;
+import com.portfolio.weatheralert.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+class LocationPollScheduleUpsertRepositoryTest extends PostgresIntegrationTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+    private static final Duration MIN = Duration.ofMinutes(5);
+    private static final Duration MAX = Duration.ofHours(1);
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private LocationPollScheduleRepository locationPollScheduleRepository;
+
+    @AfterEach
+    void cleanUp() {
+        locationPollScheduleRepository.deleteAllInBatch();
+        locationRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void insertIfAbsent_keepsTheScheduleAnotherNodeCreatedFirst() {
+        Location seoul = locationRepository.save(new Location("Seoul", 37.5, 126.9));
+        locationPollScheduleRepository.insertIfAbsent(List.of(schedule(seoul, Duration.ofMinutes(10))));
+
+        locationPollScheduleRepository.insertIfAbsent(List.of(schedule(seoul, Duration.ofMinutes(30))));
+
+        assertThat(locationPollScheduleRepository.findById(seoul.getId())).get()
+                .extracting(LocationPollSchedule::getNextPollAt)
+                .isEqualTo(NOW.plus(Duration.ofMinutes(10)));
+    }
+
+    @Test
+    void recordFailedPolls_doublesBackoffUpToMax() {
+        Location unscheduled = locationRepository.save(new Location("Seoul", 37.5, 126.9));
+        Location scheduled = locationRepository.save(new Location("Busan", 35.1, 129.0));
+        locationPollScheduleRepository.insertIfAbsent(List.of(schedule(scheduled, Duration.ofMinutes(10))));
+        Instant failedAt = NOW.plus(Duration.ofMinutes(10));
+
+        locationPollScheduleRepository.recordFailedPolls(List.of(unscheduled.getId(), scheduled.getId()), failedAt, MIN, MAX);
+        assertThat(nextPollAt(unscheduled)).isEqualTo(failedAt.plus(MIN));
+        assertThat(nextPollAt(scheduled)).isEqualTo(failedAt.plus(MIN));
+
+        locationPollScheduleRepository.recordFailedPolls(List.of(scheduled.getId()), failedAt, MIN, MAX);
+        assertThat(nextPollAt(scheduled)).isEqualTo(failedAt.plus(Duration.ofMinutes(10)));
+
+        for (int i = 0; i < 5; i++) {
+            locationPollScheduleRepository.recordFailedPolls(List.of(scheduled.getId()), failedAt, MIN, MAX);
+        }
+        LocationPollSchedule backedOff = locationPollScheduleRepository.findById(scheduled.getId()).orElseThrow();
+        assertThat(backedOff.getNextPollAt()).isEqualTo(failedAt.plus(MAX));
+        assertThat(backedOff.getFailedPolls()).isEqualTo(7);
+        assertThat(backedOff.getLastPolledAt()).isEqualTo(NOW);
+    }
+
+    private Instant nextPollAt(Location location) {
+        return locationPollScheduleRepository.findById(location.getId()).orElseThrow().getNextPollAt();
+    }
+
+    private static LocationPollSchedule schedule(Location location, Duration interval) {
+        LocationPollSchedule schedule = new LocationPollSchedule(location.getId());
+        schedule.recordObservation(NOW, 1.0, 0.0);
+        schedule.scheduleNext(NOW.plus(interval), interval);
+        return schedule;
+    }
+}
@@ -0,0 +1,90 @@
+package com.portfolio.weatheralert.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import com.portfolio.weatheralert.domain.Location;
+import com.portfolio.weatheralert.domain.SnapshotEvaluationOutbox;
+import com.portfolio.weatheralert.domain.WeatherSnapshot;
+import com.portfolio.weatheralert.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+class SnapshotEvaluationOutboxClaimRepositoryTest extends PostgresIntegrationTest {
+
+    private static final Duration LEASE = Duration.ofMinutes(2);
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private WeatherSnapshotRepository weatherSnapshotRepository;
+
+    @Autowired
+    private SnapshotEvaluationOutboxRepository outboxRepository;
+
+    @AfterEach
+    void cleanUp() {
+        outboxRepository.deleteAllInBatch();
+        weatherSnapshotRepository.deleteAllInBatch();
+        locationRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void claimPending_leasesRowsSoOtherRelaysSkipThemUntilTheLeaseRunsOut() {
+        Location seoul = locationRepository.save(new Location("Seoul", 37.5, 126.9));
+        List<WeatherSnapshot> snapshots = weatherSnapshotRepository.saveAll(IntStream.range(0, 3)
+                .mapToObj(i -> new WeatherSnapshot(seoul, Instant.parse("2025-01-01T00:00:00Z").plusSeconds(i * 600L),
+                        1.0, 1.0, 0.0, 1, "test"))
+                .toList());
+        snapshots.forEach(snapshot -> outboxRepository.save(new SnapshotEvaluationOutbox(snapshot.getId(), seoul.getId())));
+        Instant now = Instant.now().plusSeconds(1);
+
+        List<PendingEvaluation> first = outboxRepository.claimPending(2, now, now, now.plus(LEASE));
+        List<PendingEvaluation> second = outboxRepository.claimPending(2, now, now, now.plus(LEASE));
+
+        assertThat(first).hasSize(2);
+        assertThat(second).singleElement()
+                .satisfies(row -> assertThat(first).extracting(PendingEvaluation::snapshotId).doesNotContain(row.snapshotId()));
+        assertThat(first).extracting(PendingEvaluation::createdAt).isSorted();
+        assertThat(outboxRepository.claimPending(10, now, now, now.plus(LEASE))).isEmpty();
+
+        // The relay that held them died: after the lease every row is up for grabs again.
+        Instant expired = now.plus(LEASE).plusSeconds(1);
+        assertThat(outboxRepository.claimPending(10, expired, expired, expired.plus(LEASE))).hasSize(3);
+    }
+
+    @Test
+    void lease_holdsHandedOffRowsAgainstRelaysAndSkipsRowsAlreadyClaimed() {
+        Location seoul = locationRepository.save(new Location("Seoul", 37.5, 126.9));
+        List<WeatherSnapshot> snapshots = weatherSnapshotRepository.saveAll(IntStream.range(0, 2)
+                .mapToObj(i -> new WeatherSnapshot(seoul, Instant.parse("2025-01-01T00:00:00Z").plusSeconds(i * 600L),
+                        1.0, 1.0, 0.0, 1, "test"))
+                .toList());
+        snapshots.forEach(snapshot -> outboxRepository.save(new SnapshotEvaluationOutbox(snapshot.getId(), seoul.getId())));
+        Instant now = Instant.now().plusSeconds(1);
+        List<PendingEvaluation> relayed = outboxRepository.claimPending(1, now, now, now.plus(LEASE));
+
+        List<UUID> leased = outboxRepository.lease(snapshots.stream().map(WeatherSnapshot::getId).toList(), now, now.plus(LEASE));
+
+        assertThat(leased).singleElement().isNotEqualTo(relayed.get(0).snapshotId());
+        assertThat(outboxRepository.claimPending(10, now, now, now.plus(LEASE))).isEmpty();
+    }
+
+    @Test
+    void claimPending_leavesRowsYoungerThanReadyBefore() {
+        Location busan = locationRepository.save(new Location("Busan", 35.1, 129.0));
+        WeatherSnapshot snapshot = weatherSnapshotRepository.save(new WeatherSnapshot(
+                busan, Instant.parse("2025-01-01T00:00:00Z"), 1.0, 1.0, 0.0, 1, "test"));
+        outboxRepository.save(new SnapshotEvaluationOutbox(snapshot.getId(), busan.getId()));
+        Instant now = Instant.now();
+
+        assertThat(outboxRepository.claimPending(10, now.minusSeconds(30), now, now.plus(LEASE))).isEmpty();
+    }
+}
@@ -0,0 +1,62 @@
+package com.portfolio.weatheralert.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.List;
+
+import com.portfolio.weatheralert.domain.Location;
+import com.portfolio.weatheralert.domain.WeatherSnapshot;
+import com.portfolio.weatheralert.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+class WeatherSnapshotRepositoryTest extends PostgresIntegrationTest {
+
+    private static final Instant OBSERVED_AT = Instant.parse("2025-01-01T00:00:00Z");
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private WeatherSnapshotRepository weatherSnapshotRepository;
+
+    @AfterEach
+    void cleanUp() {
+        weatherSnapshotRepository.deleteAllInBatch();
+        locationRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void upsertAll_reportsInsertedUpdatedAndUnchanged() {
+        Location seoul = locationRepository.save(new Location("Seoul", 37.5, 126.9));
+        Location busan = locationRepository.save(new Location("Busan", 35.1, 129.0));
+
+        List<UpsertedSnapshot> first = weatherSnapshotRepository.upsertAll(List.of(
+                row(seoul, 3.5, 0.0),
+                row(busan, 8.0, 0.0)
+        ));
+        assertThat(first).extracting(UpsertedSnapshot::outcome)
+                .containsExactly(UpsertOutcome.INSERTED, UpsertOutcome.INSERTED);
+
+        List<UpsertedSnapshot> second = weatherSnapshotRepository.upsertAll(List.of(
+                row(seoul, 3.5, 0.0),
+                row(busan, 9.0, null)
+        ));
+        assertThat(second).extracting(UpsertedSnapshot::outcome)
+                .containsExactly(UpsertOutcome.UNCHANGED, UpsertOutcome.UPDATED);
+        assertThat(second.get(1).id()).isEqualTo(first.get(1).id());
+        assertThat(second.get(1).temperatureC()).isEqualTo(9.0);
+        assertThat(second.get(1).precipitationMm()).isEqualTo(0.0);
+
+        WeatherSnapshot updated = weatherSnapshotRepository.findById(first.get(1).id()).orElseThrow();
+        assertThat(updated.getTemperatureC()).isEqualTo(9.0);
+        assertThat(updated.getPrecipitationMm()).isEqualTo(0.0);
+        assertThat(weatherSnapshotRepository.count()).isEqualTo(2);
+    }
+
+    private static WeatherSnapshotUpsert row(Location location, Double temperatureC, Double precipitationMm) {
+        return new WeatherSnapshotUpsert(location.getId(), OBSERVED_AT, temperatureC, null, precipitationMm, null, "test");
+    }
+}
@@ -0,0 +1,134 @@
+package com.portfolio.weatheralert.service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import com.portfolio.weatheralert.WeatherAlertApplication;
+import com.portfolio.weatheralert.domain.AlertEvent;
+import com.portfolio.weatheralert.domain.AlertStatus;
+import com.portfolio.weatheralert.domain.AppUser;
+import com.portfolio.weatheralert.domain.Location;
+import com.portfolio.weatheralert.domain.RuleType;
+import com.portfolio.weatheralert.domain.Subscription;
+import com.portfolio.weatheralert.domain.WeatherSnapshot;
+import com.portfolio.weatheralert.repository.AlertEventRepository;
+import com.portfolio.weatheralert.repository.AppUserRepository;
+import com.portfolio.weatheralert.repository.LocationRepository;
+import com.portfolio.weatheralert.repository.SubscriptionRepository;
+import com.portfolio.weatheralert.repository.WeatherSnapshotRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Drains a PENDING backlog with N workers and reports alerts per second. Runs on the test profile's H2 by default;
+// export SPRING_DATASOURCE_URL/USERNAME/PASSWORD/DRIVER_CLASS_NAME to measure SKIP LOCKED on a scratch Postgres.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class AlertDispatchBenchmark {
+
+    private static final int SUBSCRIPTIONS = 1000;
+    private static final int BACKLOG = 20_000;
+
+    @Param({"1", "4", "8"})
+    public int workers;
+
+    private ConfigurableApplicationContext context;
+    private AlertDispatcher alertDispatcher;
+    private AlertEventRepository alertEventRepository;
+    private TransactionTemplate transactionTemplate;
+    private ExecutorService executor;
+
+    private List<UUID> subscriptionIds;
+    private LocationRepository locationRepository;
+    private SubscriptionRepository subscriptionRepository;
+    private WeatherSnapshotRepository weatherSnapshotRepository;
+    private Location location;
+    private long observation;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(WeatherAlertApplication.class)
+                .profiles("test")
+                .web(WebApplicationType.NONE)
+                .properties("logging.level.com.portfolio.weatheralert.notification=WARN", "alert.dispatch.digest-window=0s")
+                .run();
+        alertDispatcher = context.getBean(AlertDispatcher.class);
+        alertEventRepository = context.getBean(AlertEventRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        locationRepository = context.getBean(LocationRepository.class);
+        weatherSnapshotRepository = context.getBean(WeatherSnapshotRepository.class);
+        subscriptionRepository = context.getBean(SubscriptionRepository.class);
+        executor = Executors.newFixedThreadPool(workers);
+
+        AppUser user = context.getBean(AppUserRepository.class).save(new AppUser("bench-" + UUID.randomUUID() + "@example.com"));
+        location = locationRepository.save(new Location("bench", Math.random() * 80, Math.random() * 170));
+        subscriptionIds = subscriptionRepository.saveAll(IntStream.range(0, SUBSCRIPTIONS)
+                        .mapToObj(i -> new Subscription(user, location, RuleType.TEMP_BELOW, i * 0.01))
+                        .toList())
+                .stream()
+                .map(Subscription::getId)
+                .toList();
+    }
+
+    // Every invocation starts from a fresh backlog of BACKLOG pending alerts.
+    @Setup(Level.Invocation)
+    public void seedBacklog() {
+        for (int i = 0; i < BACKLOG / SUBSCRIPTIONS; i++) {
+            WeatherSnapshot snapshot = weatherSnapshotRepository.save(new WeatherSnapshot(
+                    location, Instant.EPOCH.plusSeconds(observation++), -2.0, -5.0, 0.0, 71, "bench"));
+            // Saved as entities rather than through insertAll, whose targeted on conflict H2 does not parse.
+            transactionTemplate.executeWithoutResult(status -> alertEventRepository.saveAll(subscriptionIds.stream()
+                    .map(id -> new AlertEvent(subscriptionRepository.getReferenceById(id), snapshot, RuleType.TEMP_BELOW, 0.0, AlertStatus.PENDING))
+                    .toList()));
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void clearSent() {
+        alertEventRepository.deleteAllInBatch();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BACKLOG)
+    public void drainBacklog() {
+        CompletableFuture.allOf(IntStream.range(0, workers)
+                        .mapToObj(i -> CompletableFuture.runAsync(() -> {
+                            while (alertDispatcher.drainOnce() > 0) {
+                                // keep claiming until the backlog is empty
+                            }
+                        }, executor))
+                        .toArray(CompletableFuture[]::new))
+                .join();
+    }
+}
@@ -0,0 +1,301 @@
+package com.portfolio.weatheralert.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.times;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import com.portfolio.weatheralert.domain.AlertEvent;
+import com.portfolio.weatheralert.domain.AlertStatus;
+import com.portfolio.weatheralert.domain.AppUser;
+import com.portfolio.weatheralert.domain.Location;
+import com.portfolio.weatheralert.domain.RuleType;
+import com.portfolio.weatheralert.domain.Subscription;
+import com.portfolio.weatheralert.domain.WeatherSnapshot;
+import com.portfolio.weatheralert.notification.AlertDigest;
+import com.portfolio.weatheralert.notification.AlertNotification;
+import com.portfolio.weatheralert.notification.LogNotificationChannel;
+import com.portfolio.weatheralert.notification.NotificationChannel;
+import com.portfolio.weatheralert.notification.NotificationDeliveryException;
+import com.portfolio.weatheralert.repository.AlertEventRepository;
+import com.portfolio.weatheralert.repository.AppUserRepository;
+import com.portfolio.weatheralert.repository.LocationRepository;
+import com.portfolio.weatheralert.repository.SubscriptionRepository;
+import com.portfolio.weatheralert.repository.WeatherSnapshotRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@TestPropertySource(properties = {"alert.notification.max-attempts=2", "alert.dispatch.digest-window=0s"})
+class AlertDispatcherTest {
+
+    @Autowired
+    private AlertDispatcher alertDispatcher;
+
+    @Autowired
+    private AlertDispatchService alertDispatchService;
+
+    @Autowired
+    private AppUserRepository appUserRepository;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private SubscriptionRepository subscriptionRepository;
+
+    @Autowired
+    private WeatherSnapshotRepository weatherSnapshotRepository;
+
+    @Autowired
+    private AlertEventRepository alertEventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        alertEventRepository.deleteAllInBatch();
+        weatherSnapshotRepository.deleteAllInBatch();
+        subscriptionRepository.deleteAllInBatch();
+        locationRepository.deleteAllInBatch();
+        appUserRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void concurrentWorkers_drainBacklogWithoutSendingAnyAlertTwice() {
+        seedPending(500);
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<CompletableFuture<Integer>> workers = IntStream.range(0, 4)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> drainAfter(start)))
+                .toList();
+        start.countDown();
+        int dispatched = workers.stream().mapToInt(CompletableFuture::join).sum();
+
+        assertThat(dispatched).isEqualTo(500);
+        assertThat(alertEventRepository.findAll())
+                .hasSize(500)
+                .allSatisfy(event -> {
+                    assertThat(event.getStatus()).isEqualTo(AlertStatus.SENT);
+                    assertThat(event.getSentAt()).isNotNull();
+                });
+    }
+
+    @Test
+    void claimPending_leasesRowsUntilTheClaimRunsOut() {
+        seedPending(3);
+        Instant now = Instant.parse("2025-01-01T00:00:00Z");
+        Duration lease = Duration.ofMinutes(2);
+
+        List<UUID> claimed = claim(10, now, now.plus(lease));
+        assertThat(claimed).hasSize(3);
+        assertThat(claim(10, now.plusSeconds(60), now.plusSeconds(60).plus(lease))).isEmpty();
+
+        // The claiming node died mid-send: once the lease expires another worker takes the rows over.
+        Instant expired = now.plus(lease).plusSeconds(1);
+        assertThat(claim(10, expired, expired.plus(lease))).containsExactlyInAnyOrderElementsOf(claimed);
+    }
+
+    @Test
+    void claimPending_waitsOutTheDigestWindowThenTakesAllOfTheUsersEvents() {
+        UUID early = seedPending("early@example.com", 3);
+        seedPending("late@example.com", 2);
+        // One of early's events has been waiting for ten minutes; the other two arrived just now.
+        jdbcTemplate.update("""
+                update alert_events set created_at = created_at - interval '10' minute
+                 where id = (select e.id from alert_events e join subscriptions s on s.id = e.subscription_id where s.user_id = ? limit 1)
+                """, early);
+        Instant now = Instant.now().plusSeconds(1);
+        Duration lease = Duration.ofMinutes(2);
+
+        List<UUID> claimed = claim(100, now, now.minus(Duration.ofMinutes(2)), now.plus(lease));
+
+        assertThat(claimed).hasSize(3);
+        assertThat(alertEventRepository.findByIdIn(claimed))
+                .allSatisfy(event -> assertThat(event.getSubscription().getUser().getId()).isEqualTo(early));
+        assertThat(claim(100, now, now.minus(Duration.ofMinutes(2)), now.plus(lease))).isEmpty();
+    }
+
+    @Test
+    void claimBatch_coalescesEachUsersEventsIntoOneDigest() {
+        UUID first = seedPending("first@example.com", 3);
+        UUID second = seedPending("second@example.com", 2);
+
+        AlertClaim claim = alertDispatchService.claimBatch(LogNotificationChannel.NAME, 100);
+        List<AlertDigest> digests = claim.digests();
+
+        assertThat(digests).hasSize(2);
+        assertThat(digests).filteredOn(digest -> digest.userId().equals(first)).singleElement()
+                .satisfies(digest -> assertThat(digest.alerts()).hasSize(3));
+        assertThat(digests).filteredOn(digest -> digest.userId().equals(second)).singleElement()
+                .satisfies(digest -> assertThat(digest.alerts()).hasSize(2));
+
+        assertThat(alertDispatchService.markSent(claim.alertIds(), claim.leaseUntil())).isEqualTo(5);
+        assertThat(alertEventRepository.findAll()).allSatisfy(event -> assertThat(event.getStatus()).isEqualTo(AlertStatus.SENT));
+    }
+
+    @Test
+    void markFailed_backsOffUntilTheLastAttemptThenDeadLetters() {
+        seedPending(1);
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        Instant leaseUntil = now.plus(Duration.ofMinutes(2));
+        List<UUID> claimed = claim(10, now, leaseUntil);
+
+        alertDispatchService.markFailed(claimed, leaseUntil, "webhook responded 503", true);
+
+        AlertEvent retrying = alertEventRepository.findById(claimed.get(0)).orElseThrow();
+        assertThat(retrying.getStatus()).isEqualTo(AlertStatus.PENDING);
+        assertThat(retrying.getAttempts()).isEqualTo(1);
+        assertThat(retrying.getNextAttemptAt()).isAfter(now);
+        assertThat(claim(10, now, now.plus(Duration.ofMinutes(2)))).isEmpty();
+
+        // max-attempts is 2 here, so the second failure is the last one.
+        Instant retryAt = retrying.getNextAttemptAt();
+        assertThat(claim(10, retryAt, retryAt.plus(Duration.ofMinutes(2)))).isEqualTo(claimed);
+        alertDispatchService.markFailed(claimed, retryAt.plus(Duration.ofMinutes(2)), "webhook responded 503", true);
+
+        AlertEvent dead = alertEventRepository.findById(claimed.get(0)).orElseThrow();
+        assertThat(dead.getStatus()).isEqualTo(AlertStatus.DEAD_LETTER);
+        assertThat(dead.getAttempts()).isEqualTo(2);
+        assertThat(dead.getLastError()).isEqualTo("webhook responded 503");
+        assertThat(claim(10, retryAt.plus(Duration.ofDays(1)), retryAt.plus(Duration.ofDays(2)))).isEmpty();
+    }
+
+    @Test
+    void completion_leavesRowsAnotherClaimTookOverAfterTheLeaseRanOut() {
+        seedPending(2);
+        Instant now = Instant.parse("2025-01-01T00:00:00Z");
+        Duration lease = Duration.ofMinutes(2);
+        List<UUID> stale = claim(10, now, now.plus(lease));
+        Instant expired = now.plus(lease).plusSeconds(1);
+        List<UUID> current = claim(10, expired, expired.plus(lease));
+
+        // The first claimer's send finishes late: neither outcome may touch rows it no longer holds.
+        assertThat(alertDispatchService.markSent(stale, now.plus(lease))).isZero();
+        alertDispatchService.markFailed(stale, now.plus(lease), "webhook responded 503", true);
+        assertThat(alertEventRepository.findAll()).allSatisfy(event -> {
+            assertThat(event.getStatus()).isEqualTo(AlertStatus.SENDING);
+            assertThat(event.getAttempts()).isZero();
+        });
+
+        assertThat(alertDispatchService.markSent(current, expired.plus(lease))).isEqualTo(2);
+    }
+
+    @Test
+    void slowChannel_doesNotHoldUpOtherChannels() {
+        AlertDispatchService service = Mockito.mock(AlertDispatchService.class);
+        given(service.claimBatch(anyString(), anyInt())).willAnswer(inv -> new AlertClaim(Instant.now(), List.of(digest())));
+        CompletableFuture<Void> slowSend = new CompletableFuture<>();
+        NotificationChannel slow = channel("slow", 1, () -> slowSend);
+        NotificationChannel fast = channel("fast", 1, () -> CompletableFuture.completedFuture(null));
+        AlertDispatcher dispatcher = new AlertDispatcher(
+                service, List.of(slow, fast), new AlertDispatchProperties(0, 100, Duration.ofMinutes(2), Duration.ofSeconds(1), Duration.ZERO),
+                Mockito.mock(AlertPipelineMetrics.class));
+
+        assertThat(dispatcher.drainOnce()).isEqualTo(2);
+        // The slow channel's only slot is still taken, so only the fast channel is claimed for.
+        assertThat(dispatcher.drainOnce()).isEqualTo(1);
+        assertThat(dispatcher.drainOnce()).isEqualTo(1);
+        then(service).should(times(1)).claimBatch(eq("slow"), anyInt());
+        then(service).should(times(3)).claimBatch(eq("fast"), anyInt());
+
+        slowSend.completeExceptionally(new NotificationDeliveryException("webhook responded 503", true));
+        then(service).should().markFailed(anyList(), any(), anyString(), eq(true));
+        assertThat(dispatcher.drainOnce()).isEqualTo(2);
+    }
+
+    private static NotificationChannel channel(String name, int maxInFlight, Supplier<CompletableFuture<Void>> send) {
+        return new NotificationChannel() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public int maxInFlight() {
+                return maxInFlight;
+            }
+
+            @Override
+            public CompletableFuture<Void> send(List<AlertDigest> batch) {
+                return send.get();
+            }
+        };
+    }
+
+    private static AlertDigest digest() {
+        return new AlertDigest(UUID.randomUUID(), "user@example.com", List.of(new AlertNotification(UUID.randomUUID(), "message", Instant.now())));
+    }
+
+    private int drainAfter(CountDownLatch start) {
+        try {
+            start.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        }
+        int total = 0;
+        int drained;
+        while ((drained = alertDispatcher.drainOnce()) > 0) {
+            total += drained;
+        }
+        return total;
+    }
+
+    // Ignores the digest window: every user with a claimable event is due.
+    private List<UUID> claim(int limit, Instant now, Instant leaseUntil) {
+        return claim(limit, now, Instant.parse("9999-01-01T00:00:00Z"), leaseUntil);
+    }
+
+    private List<UUID> claim(int limit, Instant now, Instant readyBefore, Instant leaseUntil) {
+        return transactionTemplate.execute(status ->
+                alertEventRepository.claimPending(LogNotificationChannel.NAME, limit, now, readyBefore, leaseUntil));
+    }
+
+    private UUID seedPending(int count) {
+        return seedPending("dispatch@example.com", count);
+    }
+
+    private UUID seedPending(String email, int count) {
+        AppUser user = appUserRepository.save(new AppUser(email));
+        Location location = locationRepository.save(new Location(email, 37.0 + Math.floorMod(email.hashCode(), 1000) * 0.001, 126.9779));
+        WeatherSnapshot snapshot = weatherSnapshotRepository.save(new WeatherSnapshot(
+                location, Instant.parse("2025-01-01T00:00:00Z"), -2.0, -5.0, 0.0, 71, "test"));
+        List<AlertEvent> rows = subscriptionRepository.saveAll(IntStream.range(0, count)
+                        .mapToObj(i -> new Subscription(user, location, RuleType.TEMP_BELOW, i * 0.01))
+                        .toList())
+                .stream()
+                .map(subscription -> new AlertEvent(
+                        subscription, snapshot, RuleType.TEMP_BELOW, subscription.getThreshold(), AlertStatus.PENDING))
+                .toList();
+        alertEventRepository.saveAll(rows);
+        return user.getId();
+    }
+}
@@ -2,124 +2,174 @@ package com.portfolio.weatheralert.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.verify;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
-import com.portfolio.weatheralert.domain.AlertEvent;
 import com.portfolio.weatheralert.domain.AlertStatus;
-import com.portfolio.weatheralert.domain.AppUser;
 import com.portfolio.weatheralert.domain.Location;
 import com.portfolio.weatheralert.domain.RuleType;
-import com.portfolio.weatheralert.domain.Subscription;
 import com.portfolio.weatheralert.domain.WeatherSnapshot;
+import com.portfolio.weatheralert.repository.AlertEventInsert;
 import com.portfolio.weatheralert.repository.AlertEventRepository;
+import com.portfolio.weatheralert.repository.SnapshotEvaluationOutboxRepository;
 import com.portfolio.weatheralert.repository.SubscriptionRepository;
+import com.portfolio.weatheralert.repository.SubscriptionThreshold;
+import com.portfolio.weatheralert.repository.SubscriptionTriggerStateRepository;
+import com.portfolio.weatheralert.repository.WeatherSnapshotRepository;
+import com.portfolio.weatheralert.service.dto.HourlyWeatherResponse.HourlyWeatherPoint;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
 
 class AlertEvaluationServiceTest {
 
     private final SubscriptionRepository subscriptionRepository = Mockito.mock(SubscriptionRepository.class);
+    private final SubscriptionTriggerStateRepository triggerStateRepository = Mockito.mock(SubscriptionTriggerStateRepository.class);
     private final AlertEventRepository alertEventRepository = Mockito.mock(AlertEventRepository.class);
 
-    private final AlertEvaluationService service = new AlertEvaluationService(subscriptionRepository, alertEventRepository);
+    private final AlertEvaluationService service = new AlertEvaluationService(
+            new SubscriptionIndex(subscriptionRepository),
+            new AlertTriggerTracker(triggerStateRepository, new AlertTriggerProperties(1.0, 0.5, Duration.ofHours(3)), Clock.systemUTC()),
+            alertEventRepository,
+            Mockito.mock(WeatherSnapshotRepository.class),
+            Mockito.mock(SnapshotEvaluationOutboxRepository.class),
+            Mockito.mock(AlertPipelineMetrics.class));
+
+    @BeforeEach
+    void armEverything() {
+        given(triggerStateRepository.fireIfArmed(anyList(), any(), any())).willAnswer(inv -> inv.getArgument(0));
+    }
 
     @Test
+    @SuppressWarnings("unchecked")
     void evaluateSnapshot_tempBelow_triggers() {
-        Location location = new Location("Seoul", 37.5, 126.9);
-        WeatherSnapshot snapshot = new WeatherSnapshot(
-                location,
-                Instant.parse("2025-01-01T00:00:00Z"),
-                5.0,
-                5.0,
-                0.0,
-                null,
-                "test"
-        );
-
-        Subscription subscription = new Subscription(new AppUser("a@b.com"), location, RuleType.TEMP_BELOW, 10.0);
-        given(subscriptionRepository.findByLocationIdAndEnabledTrue(any(UUID.class))).willReturn(List.of(subscription));
-        given(alertEventRepository.save(any(AlertEvent.class))).willAnswer(inv -> inv.getArgument(0));
+        Location location = location("Seoul", 37.5, 126.9);
+        WeatherSnapshot snapshot = snapshot(location, 5.0, 0.0);
+        UUID subscriptionId = subscribe(location, RuleType.TEMP_BELOW, 10.0);
 
         int created = service.evaluateSnapshot(snapshot);
 
         assertThat(created).isEqualTo(1);
 
-        ArgumentCaptor<AlertEvent> captor = ArgumentCaptor.forClass(AlertEvent.class);
-        verify(alertEventRepository).save(captor.capture());
-        assertThat(captor.getValue().getStatus()).isEqualTo(AlertStatus.PENDING);
-        assertThat(captor.getValue().getMessage()).contains("Seoul");
+        ArgumentCaptor<List<AlertEventInsert>> captor = ArgumentCaptor.forClass(List.class);
+        verify(alertEventRepository).insertAll(captor.capture());
+        assertThat(captor.getValue()).singleElement().satisfies(row -> {
+            assertThat(row.subscriptionId()).isEqualTo(subscriptionId);
+            assertThat(row.snapshotId()).isEqualTo(snapshot.getId());
+            assertThat(row.status()).isEqualTo(AlertStatus.PENDING);
+            assertThat(row.ruleType()).isEqualTo(RuleType.TEMP_BELOW);
+            assertThat(row.threshold()).isEqualTo(10.0);
+        });
     }
 
     @Test
     void evaluateSnapshot_tempAbove_triggers() {
-        Location location = new Location("Busan", 35.1, 129.0);
-        WeatherSnapshot snapshot = new WeatherSnapshot(
-                location,
-                Instant.parse("2025-01-01T00:00:00Z"),
-                25.0,
-                25.0,
-                0.0,
-                null,
-                "test"
-        );
-
-        Subscription subscription = new Subscription(new AppUser("a@b.com"), location, RuleType.TEMP_ABOVE, 20.0);
-        given(subscriptionRepository.findByLocationIdAndEnabledTrue(any(UUID.class))).willReturn(List.of(subscription));
-        given(alertEventRepository.save(any(AlertEvent.class))).willAnswer(inv -> inv.getArgument(0));
+        Location location = location("Busan", 35.1, 129.0);
+        subscribe(location, RuleType.TEMP_ABOVE, 20.0);
 
-        int created = service.evaluateSnapshot(snapshot);
+        int created = service.evaluateSnapshot(snapshot(location, 25.0, 0.0));
 
         assertThat(created).isEqualTo(1);
     }
 
     @Test
     void evaluateSnapshot_precipAbove_triggers() {
-        Location location = new Location("Jeju", 33.5, 126.5);
-        WeatherSnapshot snapshot = new WeatherSnapshot(
-                location,
-                Instant.parse("2025-01-01T00:00:00Z"),
-                10.0,
-                10.0,
-                2.0,
-                null,
-                "test"
-        );
+        Location location = location("Jeju", 33.5, 126.5);
+        subscribe(location, RuleType.PRECIP_ABOVE, 1.0);
 
-        Subscription subscription = new Subscription(new AppUser("a@b.com"), location, RuleType.PRECIP_ABOVE, 1.0);
-        given(subscriptionRepository.findByLocationIdAndEnabledTrue(any(UUID.class))).willReturn(List.of(subscription));
-        given(alertEventRepository.save(any(AlertEvent.class))).willAnswer(inv -> inv.getArgument(0));
-
-        int created = service.evaluateSnapshot(snapshot);
+        int created = service.evaluateSnapshot(snapshot(location, 10.0, 2.0));
 
         assertThat(created).isEqualTo(1);
     }
 
     @Test
     void evaluateSnapshot_notTriggered_createsNothing() {
-        Location location = new Location("Seoul", 37.5, 126.9);
+        Location location = location("Seoul", 37.5, 126.9);
+        subscribe(location, RuleType.TEMP_BELOW, 10.0);
+
+        int created = service.evaluateSnapshot(snapshot(location, 15.0, 0.0));
+
+        assertThat(created).isEqualTo(0);
+        verify(alertEventRepository, Mockito.never()).insertAll(anyList());
+    }
+
+    @Test
+    void evaluateSnapshot_conditionStillHolds_doesNotFireAgain() {
+        Location location = location("Seoul", 37.5, 126.9);
+        subscribe(location, RuleType.TEMP_BELOW, 0.0);
+
+        assertThat(service.evaluateSnapshot(snapshot(location, -1.0, 0.0))).isEqualTo(1);
+        assertThat(service.evaluateSnapshot(snapshot(location, -3.0, 0.0))).isEqualTo(0);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void evaluateForecast_firesWhenCrossingFallsInsideLead() {
+        UUID locationId = UUID.randomUUID();
+        Instant now = Instant.parse("2025-01-01T00:10:00Z");
+        // Drops below zero at 04:00.
+        ForecastWindow window = ForecastWindow.of(List.of(
+                point("2025-01-01T00:00:00Z", 3.0),
+                point("2025-01-01T01:00:00Z", 2.0),
+                point("2025-01-01T02:00:00Z", 1.0),
+                point("2025-01-01T03:00:00Z", 0.5),
+                point("2025-01-01T04:00:00Z", -1.0)
+        ), now);
+        SubscriptionThreshold shortLead = new SubscriptionThreshold(UUID.randomUUID(), locationId, RuleType.TEMP_BELOW, 0.0, 2);
+        SubscriptionThreshold longLead = new SubscriptionThreshold(UUID.randomUUID(), locationId, RuleType.TEMP_BELOW, 0.0, 4);
+        given(alertEventRepository.insertAll(anyList())).willAnswer(inv -> ((List<?>) inv.getArgument(0)).size());
+
+        int created = service.evaluateForecast(locationId, List.of(shortLead, longLead), window, now);
+
+        assertThat(created).isEqualTo(1);
+        ArgumentCaptor<List<AlertEventInsert>> captor = ArgumentCaptor.forClass(List.class);
+        verify(alertEventRepository).insertAll(captor.capture());
+        assertThat(captor.getValue()).singleElement().satisfies(row -> {
+            assertThat(row.subscriptionId()).isEqualTo(longLead.subscriptionId());
+            assertThat(row.snapshotId()).isNull();
+            assertThat(row.forecastFor()).isEqualTo(Instant.parse("2025-01-01T04:00:00Z"));
+            assertThat(row.leadHours()).isEqualTo(4);
+        });
+    }
+
+    private UUID subscribe(Location location, RuleType ruleType, double threshold) {
+        UUID id = UUID.randomUUID();
+        given(subscriptionRepository.findAllEnabledThresholds())
+                .willReturn(List.of(new SubscriptionThreshold(id, location.getId(), ruleType, threshold)));
+        given(alertEventRepository.insertAll(anyList())).willAnswer(inv -> ((List<?>) inv.getArgument(0)).size());
+        return id;
+    }
+
+    private static HourlyWeatherPoint point(String time, double temperatureC) {
+        return new HourlyWeatherPoint(Instant.parse(time), temperatureC, temperatureC, null);
+    }
+
+    private static Location location(String name, double latitude, double longitude) {
+        Location location = new Location(name, latitude, longitude);
+        ReflectionTestUtils.setField(location, "id", UUID.randomUUID());
+        return location;
+    }
+
+    private static WeatherSnapshot snapshot(Location location, double temperatureC, double precipitationMm) {
         WeatherSnapshot snapshot = new WeatherSnapshot(
                 location,
                 Instant.parse("2025-01-01T00:00:00Z"),
-                15.0,
-                15.0,
-                0.0,
+                temperatureC,
+                temperatureC,
+                precipitationMm,
                 null,
                 "test"
         );
-
-        Subscription subscription = new Subscription(new AppUser("a@b.com"), location, RuleType.TEMP_BELOW, 10.0);
-        given(subscriptionRepository.findByLocationIdAndEnabledTrue(any(UUID.class))).willReturn(List.of(subscription));
-        given(alertEventRepository.save(any(AlertEvent.class))).willAnswer(inv -> inv.getArgument(0));
-
-        int created = service.evaluateSnapshot(snapshot);
-
-        assertThat(created).isEqualTo(0);
-        verify(alertEventRepository, Mockito.never()).save(any(AlertEvent.class));
+        ReflectionTestUtils.setField(snapshot, "id", UUID.randomUUID());
+        return snapshot;
     }
 }
@@ -0,0 +1,66 @@
+package com.portfolio.weatheralert.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Instant;
+
+import com.portfolio.weatheralert.domain.AlertEvent;
+import com.portfolio.weatheralert.domain.AlertStatus;
+import com.portfolio.weatheralert.domain.AppUser;
+import com.portfolio.weatheralert.domain.Location;
+import com.portfolio.weatheralert.domain.RuleType;
+import com.portfolio.weatheralert.domain.Subscription;
+import com.portfolio.weatheralert.domain.WeatherSnapshot;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class AlertMessageRendererTest {
+
+    private final AlertMessageRenderer renderer = new AlertMessageRenderer(new AlertMessageProperties(
+            "[{location}] rule={rule} {threshold} observedAt={observedAt} tempC={tempC} precipMm={precipMm}",
+            "[{location}] forecast +{leadHours}h rule={rule} {threshold} forecastFor={forecastFor}"));
+
+    private final AppUser user = new AppUser("user@example.com");
+    private final Location seoul = new Location("Seoul", 37.5, 126.9);
+
+    @Test
+    void render_observedAlert() {
+        Subscription subscription = new Subscription(user, seoul, RuleType.TEMP_BELOW, 10.0);
+        WeatherSnapshot snapshot = new WeatherSnapshot(
+                seoul, Instant.parse("2025-01-01T00:00:00Z"), 5.0, 3.0, 0.0, null, "test");
+        AlertEvent event = new AlertEvent(subscription, snapshot, RuleType.TEMP_BELOW, 10.0, AlertStatus.PENDING);
+
+        assertThat(renderer.render(event))
+                .isEqualTo("[Seoul] rule=TEMP_BELOW 10.0 observedAt=2025-01-01T00:00:00Z tempC=5.0 precipMm=0.0");
+    }
+
+    @Test
+    void render_forecastAlert() {
+        // The subscription's window has been widened since; the alert keeps the window it fired for.
+        Subscription subscription = new Subscription(user, seoul, RuleType.TEMP_BELOW, 0.0, 12);
+        AlertEvent event = new AlertEvent(subscription, null, RuleType.TEMP_BELOW, 0.0, AlertStatus.PENDING);
+        ReflectionTestUtils.setField(event, "forecastFor", Instant.parse("2025-01-01T04:00:00Z"));
+        ReflectionTestUtils.setField(event, "leadHours", 3);
+
+        assertThat(renderer.render(event))
+                .isEqualTo("[Seoul] forecast +3h rule=TEMP_BELOW 0.0 forecastFor=2025-01-01T04:00:00Z");
+    }
+
+    @Test
+    void render_legacyAlert_keepsItsStoredText() {
+        // The subscription's threshold has moved since; the pre-V8 row still reads as it was sent.
+        Subscription subscription = new Subscription(user, seoul, RuleType.TEMP_BELOW, 0.0);
+        AlertEvent event = new AlertEvent(subscription, null, RuleType.TEMP_BELOW, 0.0, AlertStatus.SENT);
+        ReflectionTestUtils.setField(event, "legacyMessage", "[Seoul] temperature 4.0C below 5.0C");
+
+        assertThat(renderer.render(event)).isEqualTo("[Seoul] temperature 4.0C below 5.0C");
+    }
+
+    @Test
+    void unknownPlaceholder_failsAtStartup() {
+        assertThatThrownBy(() -> new AlertMessageRenderer(new AlertMessageProperties("{location} {humidity}", "{location}")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("{humidity}");
+    }
+}
@@ -0,0 +1,64 @@
+package com.portfolio.weatheralert.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.portfolio.weatheralert.repository.AlertBacklog;
+import com.portfolio.weatheralert.repository.AlertEventRepository;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class AlertPipelineMetricsTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T12:00:00Z");
+
+    private final AlertEventRepository alertEventRepository = Mockito.mock(AlertEventRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AlertPipelineMetrics metrics = new AlertPipelineMetrics(
+            alertEventRepository, meterRegistry, Clock.fixed(NOW, ZoneOffset.UTC));
+
+    @Test
+    void records_eachStageUnderItsOwnTag() {
+        metrics.snapshotStored(NOW.minusSeconds(600));
+        metrics.alertsCreated(NOW.minusSeconds(2), 3);
+        metrics.alertsSent(List.of(NOW.minusSeconds(30), NOW.minusSeconds(90)));
+
+        assertThat(stage("observed_to_stored").count()).isEqualTo(1);
+        assertThat(stage("observed_to_stored").totalTime(TimeUnit.SECONDS)).isEqualTo(600);
+        assertThat(stage("stored_to_created").count()).isEqualTo(3);
+        assertThat(stage("stored_to_created").max(TimeUnit.SECONDS)).isEqualTo(2);
+        assertThat(stage("created_to_sent").count()).isEqualTo(2);
+        assertThat(stage("created_to_sent").totalTime(TimeUnit.SECONDS)).isEqualTo(120);
+    }
+
+    @Test
+    void refreshBacklog_exposesPendingCountAndOldestAge() {
+        given(alertEventRepository.findPendingBacklog())
+                .willReturn(new AlertBacklog(42, NOW.minusSeconds(300)))
+                .willReturn(new AlertBacklog(0, null));
+
+        metrics.refreshBacklog();
+        assertThat(gauge(AlertPipelineMetrics.BACKLOG_PENDING_METRIC)).isEqualTo(42);
+        assertThat(gauge(AlertPipelineMetrics.BACKLOG_OLDEST_AGE_METRIC)).isEqualTo(300);
+
+        metrics.refreshBacklog();
+        assertThat(gauge(AlertPipelineMetrics.BACKLOG_PENDING_METRIC)).isZero();
+        assertThat(gauge(AlertPipelineMetrics.BACKLOG_OLDEST_AGE_METRIC)).isZero();
+    }
+
+    private Timer stage(String stage) {
+        return meterRegistry.get(AlertPipelineMetrics.LATENCY_METRIC).tag("stage", stage).timer();
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).gauge().value();
+    }
+}
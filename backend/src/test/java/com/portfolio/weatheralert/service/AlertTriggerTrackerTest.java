@@ -0,0 +1,105 @@
+package com.portfolio.weatheralert.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import com.portfolio.weatheralert.domain.RuleType;
+import com.portfolio.weatheralert.repository.SubscriptionThreshold;
+import com.portfolio.weatheralert.repository.SubscriptionTriggerStateRepository;
+import com.portfolio.weatheralert.repository.TriggerStateRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class AlertTriggerTrackerTest {
+
+    private static final Instant T0 = Instant.parse("2025-01-01T00:00:00Z");
+    private static final UUID LOCATION_ID = UUID.randomUUID();
+
+    private final SubscriptionTriggerStateRepository repository = Mockito.mock(SubscriptionTriggerStateRepository.class);
+    private final AlertTriggerTracker tracker = new AlertTriggerTracker(
+            repository, new AlertTriggerProperties(1.0, 0.5, Duration.ofHours(3)), Clock.systemUTC());
+
+    private final SubscriptionThreshold freezing =
+            new SubscriptionThreshold(UUID.randomUUID(), LOCATION_ID, RuleType.TEMP_BELOW, 0.0);
+
+    @BeforeEach
+    void setUp() {
+        given(repository.fireIfArmed(anyList(), any(), any())).willAnswer(inv -> inv.getArgument(0));
+    }
+
+    @Test
+    void fire_onlyOnCrossing() {
+        assertThat(below(-1.0, T0)).containsExactly(freezing);
+        assertThat(below(-4.0, T0.plusSeconds(300))).isEmpty();
+        assertThat(below(-2.0, T0.plusSeconds(600))).isEmpty();
+    }
+
+    @Test
+    void rearm_requiresHysteresisMargin() {
+        below(-1.0, T0);
+
+        // Back above zero but still inside the 1.0 band: stays disarmed.
+        assertThat(tracker.fire(LOCATION_ID, temperature(0.5), T0.plus(Duration.ofHours(4)), List.of())).isEmpty();
+        assertThat(below(-1.0, T0.plus(Duration.ofHours(5)))).isEmpty();
+
+        tracker.fire(LOCATION_ID, temperature(1.5), T0.plus(Duration.ofHours(6)), List.of());
+        verify(repository).rearm(List.of(freezing.subscriptionId()));
+        assertThat(below(-1.0, T0.plus(Duration.ofHours(7)))).containsExactly(freezing);
+    }
+
+    @Test
+    void rearmed_stillWaitsOutCooldown() {
+        below(-1.0, T0);
+        tracker.fire(LOCATION_ID, temperature(2.0), T0.plus(Duration.ofHours(1)), List.of());
+
+        assertThat(below(-1.0, T0.plus(Duration.ofHours(2)))).isEmpty();
+        assertThat(below(-1.0, T0.plus(Duration.ofHours(3)))).containsExactly(freezing);
+    }
+
+    @Test
+    void rearm_coversSubscriptionsDisarmedOnAnotherNode() {
+        // Another node fired first: losing the compare-and-set is how this node learns the subscription is disarmed.
+        given(repository.fireIfArmed(anyList(), any(), any())).willReturn(List.of());
+        assertThat(below(-1.0, T0)).isEmpty();
+
+        tracker.fire(LOCATION_ID, temperature(1.5), T0.plus(Duration.ofHours(1)), List.of());
+
+        verify(repository).rearm(List.of(freezing.subscriptionId()));
+        // Only the initial load: evaluations themselves never read trigger state back.
+        verify(repository).findActiveStates(any());
+    }
+
+    @Test
+    void fire_lostToAnotherNode_doesNotAlert() {
+        given(repository.fireIfArmed(anyList(), any(), any())).willReturn(List.of());
+
+        assertThat(below(-1.0, T0)).isEmpty();
+    }
+
+    @Test
+    void reload_restoresDisarmedSubscriptions() {
+        given(repository.findActiveStates(any())).willReturn(List.of(new TriggerStateRow(
+                freezing.subscriptionId(), LOCATION_ID, RuleType.TEMP_BELOW, 0.0, null, false, T0)));
+        tracker.reload();
+
+        assertThat(below(-1.0, T0.plus(Duration.ofHours(5)))).isEmpty();
+    }
+
+    private List<SubscriptionThreshold> below(double temperatureC, Instant observedAt) {
+        return tracker.fire(LOCATION_ID, temperature(temperatureC), observedAt, List.of(freezing));
+    }
+
+    private static AlertTriggerTracker.Readings temperature(double temperatureC) {
+        return (ruleType, leadHours) -> leadHours == null ? temperatureC : null;
+    }
+}
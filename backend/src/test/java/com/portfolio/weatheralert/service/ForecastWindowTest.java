@@ -0,0 +1,48 @@
+package com.portfolio.weatheralert.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.List;
+
+import com.portfolio.weatheralert.domain.RuleType;
+import com.portfolio.weatheralert.service.dto.HourlyWeatherResponse.HourlyWeatherPoint;
+import org.junit.jupiter.api.Test;
+
+class ForecastWindowTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T01:30:00Z");
+
+    private final ForecastWindow window = ForecastWindow.of(List.of(
+            point("2025-01-01T00:00:00Z", -9.0),
+            point("2025-01-01T01:00:00Z", 4.0),
+            point("2025-01-01T02:00:00Z", null),
+            point("2025-01-01T03:00:00Z", 7.0),
+            point("2025-01-01T04:00:00Z", 1.0)
+    ), NOW);
+
+    @Test
+    void extreme_coversCurrentHourUpToLead_andSkipsPastHours() {
+        assertThat(window.extreme(RuleType.TEMP_BELOW, 1)).isEqualTo(4.0);
+        assertThat(window.extreme(RuleType.TEMP_ABOVE, 2)).isEqualTo(7.0);
+        assertThat(window.extreme(RuleType.TEMP_BELOW, 3)).isEqualTo(1.0);
+        assertThat(window.extreme(RuleType.PRECIP_ABOVE, 3)).isNull();
+    }
+
+    @Test
+    void firstCrossing_findsEarliestHour() {
+        assertThat(window.firstCrossing(RuleType.TEMP_ABOVE, 5.0)).isEqualTo(Instant.parse("2025-01-01T03:00:00Z"));
+        assertThat(window.firstCrossing(RuleType.TEMP_BELOW, 2.0)).isEqualTo(Instant.parse("2025-01-01T04:00:00Z"));
+        assertThat(window.firstCrossing(RuleType.TEMP_BELOW, -5.0)).isNull();
+    }
+
+    @Test
+    void crosses_respectsLead() {
+        assertThat(window.crosses(RuleType.TEMP_BELOW, 2.0, 2)).isFalse();
+        assertThat(window.crosses(RuleType.TEMP_BELOW, 2.0, 3)).isTrue();
+    }
+
+    private static HourlyWeatherPoint point(String time, Double temperatureC) {
+        return new HourlyWeatherPoint(Instant.parse(time), temperatureC, temperatureC, null);
+    }
+}
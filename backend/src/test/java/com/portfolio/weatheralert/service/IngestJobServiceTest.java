@@ -0,0 +1,93 @@
+package com.portfolio.weatheralert.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.Clock;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class IngestJobServiceTest {
+
+    private final WeatherIngestService weatherIngestService = Mockito.mock(WeatherIngestService.class);
+    private final IngestJobService service = new IngestJobService(weatherIngestService, Clock.systemUTC());
+
+    @AfterEach
+    void shutdown() {
+        service.shutdown();
+    }
+
+    @Test
+    void submit_coalescesIntoRunningJob() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        willAnswer(inv -> {
+            IngestProgress progress = inv.getArgument(0);
+            progress.addTotal(3);
+            progress.done(2);
+            progress.failed(1);
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).given(weatherIngestService).ingestAllLocations(any(IngestProgress.class));
+
+        IngestJob first = service.submit();
+        IngestJob second = service.submit();
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.getStatus()).isEqualTo(IngestJobStatus.RUNNING);
+
+        release.countDown();
+        verify(weatherIngestService, timeout(5000).times(1)).ingestAllLocations(any(IngestProgress.class));
+        awaitFinished(first);
+
+        assertThat(first.getStatus()).isEqualTo(IngestJobStatus.COMPLETED);
+        assertThat(first.getProgress().total()).isEqualTo(3);
+        assertThat(first.getProgress().done()).isEqualTo(2);
+        assertThat(first.getProgress().failed()).isEqualTo(1);
+        assertThat(service.find(first.getId())).isSameAs(first);
+
+        IngestJob next = service.submit();
+        assertThat(next.getId()).isNotEqualTo(first.getId());
+        awaitFinished(next);
+        verify(weatherIngestService, times(2)).ingestAllLocations(any(IngestProgress.class));
+    }
+
+    @Test
+    void submit_afterJobDiedWithError_startsNewJob() throws Exception {
+        willThrow(new OutOfMemoryError("test")).willAnswer(inv -> null)
+                .given(weatherIngestService).ingestAllLocations(any(IngestProgress.class));
+
+        IngestJob failed = service.submit();
+        awaitFinished(failed);
+
+        assertThat(failed.getStatus()).isEqualTo(IngestJobStatus.FAILED);
+        IngestJob next = service.submit();
+        assertThat(next.getId()).isNotEqualTo(failed.getId());
+        awaitFinished(next);
+        assertThat(next.getStatus()).isEqualTo(IngestJobStatus.COMPLETED);
+    }
+
+    @Test
+    void find_unknownJob_throwsNotFound() {
+        assertThatThrownBy(() -> service.find(UUID.randomUUID()))
+                .isInstanceOf(EntityNotFoundException.class);
+    }
+
+    private static void awaitFinished(IngestJob job) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (job.isRunning() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
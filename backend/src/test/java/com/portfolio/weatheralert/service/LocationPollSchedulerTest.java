@@ -0,0 +1,117 @@
+package com.portfolio.weatheralert.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import com.portfolio.weatheralert.domain.Location;
+import com.portfolio.weatheralert.domain.LocationPollSchedule;
+import com.portfolio.weatheralert.repository.LocationPollScheduleRepository;
+import com.portfolio.weatheralert.repository.LocationSubscriptionCount;
+import com.portfolio.weatheralert.repository.SubscriptionRepository;
+import com.portfolio.weatheralert.weather.WeatherObservation;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class LocationPollSchedulerTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+
+    private final LocationPollScheduleRepository locationPollScheduleRepository = Mockito.mock(LocationPollScheduleRepository.class);
+    private final SubscriptionRepository subscriptionRepository = Mockito.mock(SubscriptionRepository.class);
+
+    private final LocationPollScheduler scheduler = new LocationPollScheduler(
+            locationPollScheduleRepository,
+            subscriptionRepository,
+            new PollingProperties(Duration.ofMinutes(5), Duration.ofHours(1)),
+            Clock.fixed(NOW, ZoneOffset.UTC)
+    );
+
+    @Test
+    void interval_backsOffIdleLocationsAndSpeedsUpBusyOnes() {
+        assertThat(scheduler.interval(0, 0, 0)).isEqualTo(Duration.ofHours(1));
+        assertThat(scheduler.interval(0, 1, 0)).isEqualTo(Duration.ofMinutes(30));
+        assertThat(scheduler.interval(1, 0, 0)).isEqualTo(Duration.ofMinutes(7).plusSeconds(30));
+        assertThat(scheduler.interval(0, 0, 2.0)).isEqualTo(Duration.ofMinutes(15));
+        assertThat(scheduler.interval(5, 100, 4.0)).isEqualTo(Duration.ofMinutes(5));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void reschedule_createsScheduleFromSubscriptionsAndTracksVolatility() {
+        Location subscribed = location("Seoul");
+        Location idle = location("Ulleungdo");
+        LocationPollSchedule previous = new LocationPollSchedule(idle.getId());
+        previous.recordObservation(NOW.minus(Duration.ofHours(1)), 1.0, 0.0);
+        previous.scheduleNext(NOW, Duration.ofHours(1));
+        ReflectionTestUtils.setField(previous, "isNew", false);
+
+        given(subscriptionRepository.countEnabledByLocationIds(anyCollection()))
+                .willReturn(List.of(new LocationSubscriptionCount(subscribed.getId(), 1)));
+        given(locationPollScheduleRepository.findAllById(anyIterable())).willReturn(List.of(previous));
+
+        scheduler.reschedule(List.of(
+                new LocationObservation(subscribed, observation(10.0)),
+                new LocationObservation(idle, observation(5.0))
+        ));
+
+        ArgumentCaptor<Iterable<LocationPollSchedule>> saved = ArgumentCaptor.forClass(Iterable.class);
+        verify(locationPollScheduleRepository).saveAll(saved.capture());
+        assertThat(saved.getValue()).containsExactly(previous);
+        ArgumentCaptor<Collection<LocationPollSchedule>> inserted = ArgumentCaptor.forClass(Collection.class);
+        verify(locationPollScheduleRepository).insertIfAbsent(inserted.capture());
+
+        LocationPollSchedule created = inserted.getValue().stream().filter(s -> s.getId().equals(subscribed.getId())).findFirst().orElseThrow();
+        // 7m30s rounded down to the ingest tick.
+        assertThat(created.getNextPollAt()).isEqualTo(NOW.plus(Duration.ofMinutes(7)));
+
+        // 4°C in an hour, smoothed by half, is 2 units of volatility: the idle location now polls every 15 minutes.
+        assertThat(previous.getVolatility()).isEqualTo(2.0);
+        assertThat(previous.getNextPollAt()).isEqualTo(NOW.plus(Duration.ofMinutes(15)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void reschedule_countsMinimumIntervalFromTheTickSoSlowPollsDoNotSlipATick() {
+        Location busy = location("Seoul");
+        LocationPollScheduler late = new LocationPollScheduler(
+                locationPollScheduleRepository,
+                subscriptionRepository,
+                new PollingProperties(Duration.ofMinutes(5), Duration.ofHours(1)),
+                Clock.fixed(NOW.plusSeconds(40), ZoneOffset.UTC)
+        );
+        given(subscriptionRepository.countEnabledByLocationIds(anyCollection()))
+                .willReturn(List.of(new LocationSubscriptionCount(busy.getId(), 100)));
+
+        late.reschedule(List.of(new LocationObservation(busy, observation(10.0))));
+
+        ArgumentCaptor<Collection<LocationPollSchedule>> inserted = ArgumentCaptor.forClass(Collection.class);
+        verify(locationPollScheduleRepository).insertIfAbsent(inserted.capture());
+        LocationPollSchedule created = inserted.getValue().iterator().next();
+        assertThat(created.getPollIntervalSeconds()).isEqualTo(300);
+        // Polled during the NOW tick, so it is due on the NOW+5m tick rather than just after it.
+        assertThat(created.getNextPollAt()).isEqualTo(NOW.plus(Duration.ofMinutes(5)));
+    }
+
+    private static Location location(String name) {
+        Location location = new Location(name, 37.5, 126.9);
+        ReflectionTestUtils.setField(location, "id", UUID.randomUUID());
+        return location;
+    }
+
+    private static WeatherObservation observation(double temperatureC) {
+        return new WeatherObservation(NOW, temperatureC, temperatureC, 0.0, 0);
+    }
+}
@@ -0,0 +1,117 @@
+package com.portfolio.weatheralert.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+
+import com.portfolio.weatheralert.repository.PendingEvaluation;
+import com.portfolio.weatheralert.repository.SnapshotEvaluationOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class SnapshotEvaluationPipelineTest {
+
+    private static final UUID LOCATION_ID = UUID.randomUUID();
+
+    private final AlertEvaluationService alertEvaluationService = Mockito.mock(AlertEvaluationService.class);
+    private final SnapshotEvaluationOutboxRepository outboxRepository = Mockito.mock(SnapshotEvaluationOutboxRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SnapshotEvaluationPipeline pipeline = new SnapshotEvaluationPipeline(
+            alertEvaluationService, outboxRepository, new EvaluationPipelineProperties(1, 1, Duration.ZERO, Duration.ZERO),
+            meterRegistry, Clock.systemUTC());
+
+    @AfterEach
+    void tearDown() {
+        pipeline.shutdown();
+    }
+
+    @Test
+    void fullLane_rejectsAndRelayOffersItLater() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch busy = new CountDownLatch(1);
+        willAnswer(inv -> {
+            busy.countDown();
+            release.await();
+            return 0;
+        }).given(alertEvaluationService).evaluateReady(any());
+
+        SnapshotReady first = ready();
+        SnapshotReady second = ready();
+        SnapshotReady third = ready();
+        assertThat(pipeline.offer(first)).isTrue();
+        busy.await();
+        assertThat(pipeline.offer(second)).isTrue();
+        // The worker is stuck on the first and the lane holds the second: the third stays in the outbox.
+        assertThat(pipeline.offer(third)).isFalse();
+        assertThat(pipeline.depth()).isEqualTo(1);
+        assertThat(meterRegistry.counter(SnapshotEvaluationPipeline.REJECTED_METRIC).count()).isEqualTo(1);
+
+        release.countDown();
+        verify(alertEvaluationService, timeout(1000)).evaluateReady(second.snapshotId());
+        given(outboxRepository.claimPending(anyInt(), any(), any(), any()))
+                .willReturn(List.of(pending(third)));
+        pipeline.relay();
+
+        verify(alertEvaluationService, timeout(1000)).evaluateReady(third.snapshotId());
+    }
+
+    @Test
+    void failedEvaluation_isRetriedByRelay() throws Exception {
+        SnapshotReady ready = ready();
+        given(alertEvaluationService.evaluateReady(ready.snapshotId()))
+                .willThrow(new IllegalStateException("boom"))
+                .willReturn(1);
+
+        pipeline.offer(ready);
+        verify(alertEvaluationService, timeout(1000)).evaluateReady(ready.snapshotId());
+
+        // The row is still in the outbox and is claimed again once its lease runs out (zero here);
+        // relaying it while it is still in flight is a no-op.
+        given(outboxRepository.claimPending(anyInt(), any(), any(), any()))
+                .willReturn(List.of(pending(ready)));
+        long deadline = System.currentTimeMillis() + 1000;
+        while (Mockito.mockingDetails(alertEvaluationService).getInvocations().size() < 2
+                && System.currentTimeMillis() < deadline) {
+            pipeline.relay();
+            Thread.sleep(10);
+        }
+
+        verify(alertEvaluationService, timeout(1000).times(2)).evaluateReady(ready.snapshotId());
+        assertThat(meterRegistry.counter(SnapshotEvaluationPipeline.FAILED_METRIC).count()).isEqualTo(1);
+    }
+
+    @Test
+    void handOff_queuesOnlyRowsItCouldLease() {
+        SnapshotReady leased = ready();
+        SnapshotReady claimedElsewhere = ready();
+        given(outboxRepository.lease(anyCollection(), any(), any())).willReturn(List.of(leased.snapshotId()));
+
+        pipeline.onSnapshotsReady(new SnapshotsReadyEvent(List.of(leased, claimedElsewhere)));
+
+        verify(alertEvaluationService, timeout(1000)).evaluateReady(leased.snapshotId());
+        verify(alertEvaluationService, never()).evaluateReady(claimedElsewhere.snapshotId());
+    }
+
+    private static SnapshotReady ready() {
+        return new SnapshotReady(UUID.randomUUID(), LOCATION_ID, Instant.now());
+    }
+
+    private static PendingEvaluation pending(SnapshotReady ready) {
+        return new PendingEvaluation(ready.snapshotId(), ready.locationId(), ready.readyAt());
+    }
+}
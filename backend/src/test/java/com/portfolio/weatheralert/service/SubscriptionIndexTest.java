@@ -0,0 +1,87 @@
+package com.portfolio.weatheralert.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+import java.util.List;
+import java.util.UUID;
+
+import com.portfolio.weatheralert.domain.RuleType;
+import com.portfolio.weatheralert.repository.SubscriptionRepository;
+import com.portfolio.weatheralert.repository.SubscriptionThreshold;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class SubscriptionIndexTest {
+
+    private static final UUID SEOUL = UUID.randomUUID();
+    private static final UUID BUSAN = UUID.randomUUID();
+
+    private final SubscriptionRepository subscriptionRepository = Mockito.mock(SubscriptionRepository.class);
+    private final SubscriptionIndex index = new SubscriptionIndex(subscriptionRepository);
+
+    @Test
+    void match_usesStrictThresholdsPerRule() {
+        SubscriptionThreshold below0 = threshold(SEOUL, RuleType.TEMP_BELOW, 0.0);
+        SubscriptionThreshold below5 = threshold(SEOUL, RuleType.TEMP_BELOW, 5.0);
+        SubscriptionThreshold below10 = threshold(SEOUL, RuleType.TEMP_BELOW, 10.0);
+        SubscriptionThreshold above5 = threshold(SEOUL, RuleType.TEMP_ABOVE, 5.0);
+        SubscriptionThreshold above3 = threshold(SEOUL, RuleType.TEMP_ABOVE, 3.0);
+        SubscriptionThreshold rain = threshold(SEOUL, RuleType.PRECIP_ABOVE, 1.0);
+        SubscriptionThreshold busan = threshold(BUSAN, RuleType.TEMP_BELOW, 30.0);
+        given(subscriptionRepository.findAllEnabledThresholds())
+                .willReturn(List.of(below10, above5, below0, rain, below5, above3, busan));
+
+        assertThat(index.match(SEOUL, 5.0, 1.0)).containsExactlyInAnyOrder(below10, above3);
+        assertThat(index.match(SEOUL, -1.0, 1.5)).containsExactlyInAnyOrder(below0, below5, below10, rain);
+        assertThat(index.match(SEOUL, null, null)).isEmpty();
+        assertThat(index.match(UUID.randomUUID(), 5.0, 5.0)).isEmpty();
+    }
+
+    @Test
+    void addAndRemove_updateIndexIncrementally() {
+        given(subscriptionRepository.findAllEnabledThresholds()).willReturn(List.of());
+        SubscriptionThreshold low = threshold(SEOUL, RuleType.TEMP_ABOVE, 20.0);
+        SubscriptionThreshold high = threshold(SEOUL, RuleType.TEMP_ABOVE, 30.0);
+        SubscriptionThreshold same = threshold(SEOUL, RuleType.TEMP_ABOVE, 20.0);
+
+        index.add(high);
+        index.add(low);
+        index.add(same);
+        index.add(low);
+
+        assertThat(index.match(SEOUL, 25.0, null)).containsExactlyInAnyOrder(low, same);
+        assertThat(index.match(SEOUL, 35.0, null)).containsExactlyInAnyOrder(low, same, high);
+
+        index.remove(low);
+        index.remove(high);
+
+        assertThat(index.match(SEOUL, 35.0, null)).containsExactly(same);
+
+        index.remove(same);
+
+        assertThat(index.match(SEOUL, 35.0, null)).isEmpty();
+    }
+
+    @Test
+    void rebuild_keepsChangesMadeWhileItWasReading() {
+        SubscriptionThreshold disabled = threshold(SEOUL, RuleType.TEMP_BELOW, 0.0);
+        SubscriptionThreshold created = threshold(SEOUL, RuleType.TEMP_BELOW, 5.0);
+        given(subscriptionRepository.findAllEnabledThresholds()).willReturn(List.of(disabled));
+        index.rebuild();
+        // The rebuild's read still sees the disabled subscription and not the new one.
+        given(subscriptionRepository.findAllEnabledThresholds()).willAnswer(inv -> {
+            index.remove(disabled);
+            index.add(created);
+            return List.of(disabled);
+        });
+
+        index.rebuild();
+
+        assertThat(index.match(SEOUL, -1.0, null)).containsExactly(created);
+    }
+
+    private static SubscriptionThreshold threshold(UUID locationId, RuleType ruleType, double threshold) {
+        return new SubscriptionThreshold(UUID.randomUUID(), locationId, ruleType, threshold);
+    }
+}
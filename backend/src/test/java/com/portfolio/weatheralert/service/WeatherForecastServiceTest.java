@@ -0,0 +1,217 @@
+package com.portfolio.weatheralert.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import com.portfolio.weatheralert.cache.CacheFillLock;
+import com.portfolio.weatheralert.cache.CacheFillLockProperties;
+import com.portfolio.weatheralert.cache.SingleFlightLoader;
+import com.portfolio.weatheralert.domain.Location;
+import com.portfolio.weatheralert.repository.LocationRepository;
+import com.portfolio.weatheralert.service.dto.HourlyWeatherResponse;
+import com.portfolio.weatheralert.weather.HourlyForecast;
+import com.portfolio.weatheralert.weather.OpenMeteoClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class WeatherForecastServiceTest {
+
+    private static final Instant START = Instant.parse("2025-01-01T00:00:00Z");
+    private static final Duration SOFT_TTL = Duration.ofMinutes(10);
+
+    private final LocationRepository locationRepository = Mockito.mock(LocationRepository.class);
+    private final OpenMeteoClient openMeteoClient = Mockito.mock(OpenMeteoClient.class);
+    private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(WeatherForecastService.CACHE);
+    private final Cache cache = cacheManager.getCache(WeatherForecastService.CACHE);
+    private final MovableClock clock = new MovableClock(START);
+
+    private final WeatherForecastService service = new WeatherForecastService(
+            locationRepository,
+            openMeteoClient,
+            cacheManager,
+            new SingleFlightLoader(
+                    new StaticListableBeanFactory().getBeanProvider(CacheFillLock.class),
+                    new CacheFillLockProperties(false, Duration.ofSeconds(5), Duration.ofMillis(100)),
+                    new SimpleMeterRegistry()),
+            new CacheTtlProperties(Duration.ofMinutes(1), Duration.ofHours(3), SOFT_TTL),
+            clock);
+
+    @Test
+    void getHourly_servesEveryHorizonFromOneCachedForecast() {
+        Location seoul = location();
+        given(locationRepository.findById(seoul.getId())).willReturn(Optional.of(seoul));
+        // Temperatures climb one degree per hour from 0.
+        given(openMeteoClient.fetchHourlyForecast(anyDouble(), anyDouble(), anyInt()))
+                .willReturn(Optional.of(forecast(WeatherForecastService.HORIZON_HOURS)));
+
+        HourlyWeatherResponse threeHours = service.getHourly(seoul.getId(), 3);
+        for (int hours = 1; hours <= WeatherForecastService.HORIZON_HOURS; hours++) {
+            assertThat(service.getHourly(seoul.getId(), hours).points()).hasSize(hours);
+        }
+
+        verify(openMeteoClient, times(1))
+                .fetchHourlyForecast(seoul.getLatitude(), seoul.getLongitude(), WeatherForecastService.HORIZON_HOURS);
+        assertThat(threeHours.hours()).isEqualTo(3);
+        assertThat(threeHours.points()).extracting(HourlyWeatherResponse.HourlyWeatherPoint::time)
+                .containsExactly(START, START.plusSeconds(3600), START.plusSeconds(7200));
+        assertThat(threeHours.temperature()).isEqualTo(new HourlyWeatherResponse.TemperatureStats(0.0, 2.0, 1.0));
+        assertThat(service.getHourly(seoul.getId(), WeatherForecastService.HORIZON_HOURS).temperature().max())
+                .isEqualTo(167.0);
+    }
+
+    @Test
+    void getHourly_pastSoftTtl_servesCachedForecastAndRefreshesInBackground() {
+        Location seoul = location();
+        given(locationRepository.findById(seoul.getId())).willReturn(Optional.of(seoul));
+        given(openMeteoClient.fetchHourlyForecast(anyDouble(), anyDouble(), anyInt()))
+                .willReturn(Optional.of(forecast(WeatherForecastService.HORIZON_HOURS)));
+        Instant fetchedAt = START.minus(SOFT_TTL).minusSeconds(60);
+        cache.put(seoul.getId(), cached(seoul, fetchedAt));
+
+        HourlyWeatherResponse response = service.getHourly(seoul.getId(), 24);
+
+        assertThat(response.fetchedAt()).isEqualTo(fetchedAt);
+        verify(openMeteoClient, timeout(5000))
+                .fetchHourlyForecast(seoul.getLatitude(), seoul.getLongitude(), WeatherForecastService.HORIZON_HOURS);
+        awaitFetchedAt(seoul, START);
+        assertThat(service.getHourly(seoul.getId(), 24).points()).hasSize(24);
+    }
+
+    @Test
+    void getHourlyForEvaluation_pastSoftTtl_usesCachedForecastWithoutRefreshing() throws Exception {
+        Location seoul = location();
+        Instant fetchedAt = START.minus(SOFT_TTL).minusSeconds(60);
+        cache.put(seoul.getId(), cached(seoul, fetchedAt));
+
+        HourlyWeatherResponse response = service.getHourlyForEvaluation(seoul.getId());
+
+        assertThat(response.fetchedAt()).isEqualTo(fetchedAt);
+        Thread.sleep(100);
+        verify(openMeteoClient, never()).fetchHourlyForecast(anyDouble(), anyDouble(), anyInt());
+    }
+
+    @Test
+    void getHourlyForEvaluation_missingForecast_isFetched() {
+        Location seoul = location();
+        given(locationRepository.findById(seoul.getId())).willReturn(Optional.of(seoul));
+        given(openMeteoClient.fetchHourlyForecast(anyDouble(), anyDouble(), anyInt()))
+                .willReturn(Optional.of(forecast(WeatherForecastService.HORIZON_HOURS)));
+
+        HourlyWeatherResponse response = service.getHourlyForEvaluation(seoul.getId());
+
+        assertThat(response.fetchedAt()).isEqualTo(START);
+        assertThat(response.points()).hasSize(WeatherForecastService.HORIZON_HOURS);
+    }
+
+    @Test
+    void getHourly_providerDown_keepsServingStaleForecast() {
+        Location seoul = location();
+        given(locationRepository.findById(seoul.getId())).willReturn(Optional.of(seoul));
+        // What the client hands back when the circuit breaker is open or the rate limiter says no.
+        given(openMeteoClient.fetchHourlyForecast(anyDouble(), anyDouble(), anyInt())).willReturn(Optional.empty());
+        Instant fetchedAt = START.minus(Duration.ofHours(1));
+        cache.put(seoul.getId(), cached(seoul, fetchedAt));
+
+        HourlyWeatherResponse first = service.getHourly(seoul.getId(), 24);
+        verify(openMeteoClient, timeout(5000)).fetchHourlyForecast(anyDouble(), anyDouble(), anyInt());
+        HourlyWeatherResponse second = service.getHourly(seoul.getId(), 24);
+
+        assertThat(first.fetchedAt()).isEqualTo(fetchedAt);
+        assertThat(second.fetchedAt()).isEqualTo(fetchedAt);
+        assertThat(cache.get(seoul.getId(), HourlyWeatherResponse.class).fetchedAt()).isEqualTo(fetchedAt);
+    }
+
+    @Test
+    void getHourly_staleForecast_startsAtTheCurrentHour() {
+        Location seoul = location();
+        given(locationRepository.findById(seoul.getId())).willReturn(Optional.of(seoul));
+        given(openMeteoClient.fetchHourlyForecast(anyDouble(), anyDouble(), anyInt()))
+                .willReturn(Optional.of(forecast(WeatherForecastService.HORIZON_HOURS)));
+        service.getHourly(seoul.getId(), 1);
+
+        clock.set(START.plus(Duration.ofMinutes(170)));
+        HourlyWeatherResponse response = service.getHourly(seoul.getId(), 3);
+
+        assertThat(response.fetchedAt()).isEqualTo(START);
+        assertThat(response.points()).extracting(HourlyWeatherResponse.HourlyWeatherPoint::time)
+                .containsExactly(START.plusSeconds(2 * 3600), START.plusSeconds(3 * 3600), START.plusSeconds(4 * 3600));
+        assertThat(response.temperature()).isEqualTo(new HourlyWeatherResponse.TemperatureStats(2.0, 4.0, 3.0));
+    }
+
+    private void awaitFetchedAt(Location location, Instant expected) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!expected.equals(cache.get(location.getId(), HourlyWeatherResponse.class).fetchedAt())) {
+            assertThat(System.nanoTime()).as("refreshed entry").isLessThan(deadline);
+            Thread.onSpinWait();
+        }
+    }
+
+    private static HourlyWeatherResponse cached(Location location, Instant fetchedAt) {
+        return HourlyWeatherResponse.of(location.getId(), WeatherForecastService.HORIZON_HOURS, fetchedAt, List.of(
+                new HourlyWeatherResponse.HourlyWeatherPoint(fetchedAt, 1.0, 1.0, null)));
+    }
+
+    private static HourlyForecast forecast(int size) {
+        long[] epochSeconds = new long[size];
+        double[] temperatures = new double[size];
+        for (int i = 0; i < size; i++) {
+            epochSeconds[i] = START.getEpochSecond() + i * 3600L;
+            temperatures[i] = i;
+        }
+        return new HourlyForecast(size, epochSeconds, temperatures, temperatures.clone(), new int[size], new long[(size + 63) / 64]);
+    }
+
+    private static Location location() {
+        Location location = new Location("Seoul", 37.5, 126.9);
+        ReflectionTestUtils.setField(location, "id", UUID.randomUUID());
+        return location;
+    }
+
+    private static final class MovableClock extends Clock {
+
+        private volatile Instant now;
+
+        MovableClock(Instant now) {
+            this.now = now;
+        }
+
+        void set(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
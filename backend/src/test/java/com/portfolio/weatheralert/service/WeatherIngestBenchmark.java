@@ -0,0 +1,99 @@
+package com.portfolio.weatheralert.service;
+
+import static org.mockito.BDDMockito.given;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import com.portfolio.weatheralert.domain.Location;
+import com.portfolio.weatheralert.repository.LocationRepository;
+import com.portfolio.weatheralert.weather.OpenMeteoClient;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.client.RestClient;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+public class WeatherIngestBenchmark {
+
+    private static final int LOCATIONS = 64;
+    private static final long PROVIDER_LATENCY_MS = 50;
+
+    @Param({"1", "8", "32"})
+    public int parallelism;
+
+    private MockWebServer server;
+    private WeatherIngestService service;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return new MockResponse()
+                        .addHeader("Content-Type", "application/json")
+                        .setHeadersDelay(PROVIDER_LATENCY_MS, TimeUnit.MILLISECONDS)
+                        .setBody("""
+                                {"current":{"time":"2025-01-01T00:00","temperature_2m":3.5,"apparent_temperature":1.2,"precipitation":0.0,"weather_code":3}}
+                                """);
+            }
+        });
+        server.start();
+
+        RestClient restClient = RestClient.builder()
+                .baseUrl(server.url("/").toString())
+                .build();
+
+        List<Location> locations = IntStream.range(0, LOCATIONS)
+                .mapToObj(i -> new Location("loc-" + i, 33.0 + i * 0.1, 126.0 + i * 0.1))
+                .toList();
+        LocationRepository locationRepository = Mockito.mock(LocationRepository.class);
+        given(locationRepository.findAll()).willReturn(locations);
+
+        service = new WeatherIngestService(
+                locationRepository,
+                new OpenMeteoClient(restClient),
+                Mockito.mock(WeatherSnapshotWriter.class),
+                Mockito.mock(LocationPollScheduler.class),
+                new WeatherIngestProperties(parallelism, 1, 200, 0),
+                RateLimiterRegistry.of(RateLimiterConfig.custom().limitForPeriod(Integer.MAX_VALUE).build()),
+                Clock.systemUTC()
+        );
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Benchmark
+    public void ingestAllLocations() {
+        service.ingestAllLocations();
+    }
+}
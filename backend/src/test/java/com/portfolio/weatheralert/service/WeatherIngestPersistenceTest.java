@@ -0,0 +1,89 @@
+package com.portfolio.weatheralert.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import com.portfolio.weatheralert.domain.Location;
+import com.portfolio.weatheralert.repository.LocationRepository;
+import com.portfolio.weatheralert.repository.SnapshotEvaluationOutboxRepository;
+import com.portfolio.weatheralert.repository.WeatherSnapshotRepository;
+import com.portfolio.weatheralert.support.PostgresIntegrationTest;
+import com.portfolio.weatheralert.support.StatementCounter;
+import com.portfolio.weatheralert.weather.Coordinate;
+import com.portfolio.weatheralert.weather.OpenMeteoClient;
+import com.portfolio.weatheralert.weather.WeatherObservation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+@Import(StatementCounter.class)
+@TestPropertySource(properties = "weather.ingest.commit-chunk-size=10")
+class WeatherIngestPersistenceTest extends PostgresIntegrationTest {
+
+    private static final Instant OBSERVED_AT = Instant.parse("2025-01-01T00:00:00Z");
+
+    @MockBean
+    private OpenMeteoClient openMeteoClient;
+
+    // Evaluation runs on its own threads; keeping it out makes the ingest statements countable.
+    @MockBean
+    private SnapshotEvaluationPipeline snapshotEvaluationPipeline;
+
+    @Autowired
+    private WeatherIngestService weatherIngestService;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private WeatherSnapshotRepository weatherSnapshotRepository;
+
+    @Autowired
+    private SnapshotEvaluationOutboxRepository outboxRepository;
+
+    @AfterEach
+    void cleanUp() {
+        weatherSnapshotRepository.deleteAllInBatch();
+        locationRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void ingestAllLocations_writesOneUpsertPerCommitChunk() {
+        locationRepository.saveAll(IntStream.range(0, 25)
+                .mapToObj(i -> new Location("loc-" + i, 33.0 + i * 0.1, 126.0))
+                .toList());
+        given(openMeteoClient.fetchCurrentBatch(anyList())).willAnswer(inv -> {
+            List<Coordinate> coordinates = inv.getArgument(0);
+            return coordinates.stream()
+                    .map(coordinate -> Optional.of(new WeatherObservation(OBSERVED_AT, coordinate.latitude(), null, 0.0, 1)))
+                    .toList();
+        });
+
+        StatementCounter.reset();
+        weatherIngestService.ingestAllLocations();
+
+        // 25 rows in chunks of 10: one multi-row upsert per chunk and one batched outbox insert
+        // for the new snapshots. Nothing is read back for alert evaluation on the ingest path.
+        assertThat(StatementCounter.count("insert into weather_snapshots")).isEqualTo(3);
+        assertThat(StatementCounter.count("insert into snapshot_evaluation_outbox")).isEqualTo(3);
+        assertThat(StatementCounter.count("select", "from weather_snapshots")).isZero();
+        assertThat(weatherSnapshotRepository.count()).isEqualTo(25);
+        assertThat(outboxRepository.count()).isEqualTo(25);
+
+        StatementCounter.reset();
+        weatherIngestService.ingestAllLocations();
+
+        assertThat(StatementCounter.count("insert into weather_snapshots")).isEqualTo(3);
+        assertThat(StatementCounter.count("insert into snapshot_evaluation_outbox")).isZero();
+        assertThat(weatherSnapshotRepository.count()).isEqualTo(25);
+    }
+}
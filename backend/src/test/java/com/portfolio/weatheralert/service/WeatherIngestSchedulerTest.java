@@ -0,0 +1,163 @@
+package com.portfolio.weatheralert.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.IntStream;
+
+import javax.sql.DataSource;
+
+import com.portfolio.weatheralert.domain.Location;
+import com.portfolio.weatheralert.weather.Coordinate;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.javacrumbs.shedlock.core.DefaultLockingTaskExecutor;
+import net.javacrumbs.shedlock.provider.jdbctemplate.JdbcTemplateLockProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+class WeatherIngestSchedulerTest {
+
+    private static final int SHARDS = 8;
+    private static final Duration SHORT_LOCK = Duration.ofMillis(300);
+
+    private final DataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1", "sa", "");
+
+    @BeforeEach
+    void createLockTable() {
+        new JdbcTemplate(dataSource).execute("""
+                create table shedlock (
+                    name varchar(64) not null primary key,
+                    lock_until timestamp with time zone not null,
+                    locked_at timestamp with time zone not null,
+                    locked_by varchar(255) not null
+                )
+                """);
+    }
+
+    @Test
+    void concurrentNodes_processDisjointShards() throws Exception {
+        Node first = new Node(Duration.ofMinutes(1));
+        Node second = new Node(Duration.ofMinutes(1));
+
+        CountDownLatch start = new CountDownLatch(1);
+        CompletableFuture<Void> a = CompletableFuture.runAsync(() -> tickAfter(start, first));
+        CompletableFuture<Void> b = CompletableFuture.runAsync(() -> tickAfter(start, second));
+        start.countDown();
+        CompletableFuture.allOf(a, b).join();
+
+        assertThat(first.processed).isNotEmpty().doesNotContainAnyElementsOf(second.processed);
+        assertThat(second.processed).isNotEmpty();
+        assertThat(union(first, second)).containsExactlyInAnyOrderElementsOf(allShards());
+
+        // Inside the lock window a late tick must not redo shards the other node already took.
+        second.processed.clear();
+        second.scheduler.scheduledIngest();
+        assertThat(second.processed).isEmpty();
+    }
+
+    @Test
+    void remainingNode_takesOverShardsAfterOtherNodeLeaves() throws Exception {
+        Node first = new Node(SHORT_LOCK);
+        Node second = new Node(SHORT_LOCK);
+        CountDownLatch start = new CountDownLatch(1);
+        CompletableFuture<Void> a = CompletableFuture.runAsync(() -> tickAfter(start, first));
+        CompletableFuture<Void> b = CompletableFuture.runAsync(() -> tickAfter(start, second));
+        start.countDown();
+        CompletableFuture.allOf(a, b).join();
+
+        Thread.sleep(SHORT_LOCK.toMillis() + 100);
+        first.processed.clear();
+        first.scheduler.scheduledIngest();
+
+        assertThat(first.processed).containsExactlyInAnyOrderElementsOf(allShards());
+    }
+
+    @Test
+    void shardPolledByAnotherNode_isNotFetchedAgain() {
+        // The other node polled everything between this node's load and its lock; nothing is still due.
+        Node late = new Node(SHORT_LOCK);
+        given(late.service.stillDue(anyMap(), any())).willReturn(Map.of());
+
+        late.scheduler.scheduledIngest();
+
+        assertThat(late.processed).isEmpty();
+        verify(late.service, times(SHARDS)).stillDue(anyMap(), any());
+        verify(late.service, never()).ingestCells(anyMap(), any(), any());
+    }
+
+    private static void tickAfter(CountDownLatch start, Node node) {
+        try {
+            start.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        node.scheduler.scheduledIngest();
+    }
+
+    private static Set<Integer> union(Node first, Node second) {
+        Set<Integer> all = new HashSet<>(first.processed);
+        all.addAll(second.processed);
+        return all;
+    }
+
+    private static List<Integer> allShards() {
+        return IntStream.range(0, SHARDS).boxed().toList();
+    }
+
+    // One "application instance": its own lock provider and service, sharing only the database.
+    private final class Node {
+
+        private final Set<Integer> processed = ConcurrentHashMap.newKeySet();
+        private final WeatherIngestService service = Mockito.mock(WeatherIngestService.class);
+        private final WeatherIngestScheduler scheduler;
+
+        @SuppressWarnings("unchecked")
+        private Node(Duration lockAtLeastFor) {
+            given(service.loadShards(anyInt(), any())).willReturn(IntStream.range(0, SHARDS)
+                    .mapToObj(i -> Map.of(new Coordinate(i, 0), List.<Location>of()))
+                    .toList());
+            given(service.stillDue(anyMap(), any())).willAnswer(inv -> inv.getArgument(0));
+            willAnswer(inv -> {
+                Map<Coordinate, List<Location>> cells = inv.getArgument(0);
+                cells.keySet().forEach(cell -> processed.add((int) cell.latitude()));
+                Thread.sleep(50);
+                return null;
+            }).given(service).ingestCells(anyMap(), any(), any());
+
+            JdbcTemplateLockProvider lockProvider = new JdbcTemplateLockProvider(
+                    JdbcTemplateLockProvider.Configuration.builder()
+                            .withJdbcTemplate(new JdbcTemplate(dataSource))
+                            .usingDbTime()
+                            .build());
+            scheduler = new WeatherIngestScheduler(
+                    service,
+                    new DefaultLockingTaskExecutor(lockProvider),
+                    new IngestShardProperties(SHARDS, Duration.ofMinutes(2), lockAtLeastFor, Duration.ofSeconds(50)),
+                    new SimpleMeterRegistry(),
+                    Clock.systemUTC()
+            );
+        }
+    }
+}
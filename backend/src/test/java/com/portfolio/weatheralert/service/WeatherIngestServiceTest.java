@@ -0,0 +1,151 @@
+package com.portfolio.weatheralert.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import com.portfolio.weatheralert.domain.Location;
+import com.portfolio.weatheralert.repository.LocationRepository;
+import com.portfolio.weatheralert.weather.Coordinate;
+import com.portfolio.weatheralert.weather.OpenMeteoClient;
+import com.portfolio.weatheralert.weather.WeatherObservation;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class WeatherIngestServiceTest {
+
+    private static final WeatherObservation OBSERVATION =
+            new WeatherObservation(Instant.parse("2025-01-01T00:00:00Z"), 3.5, 1.2, 0.0, 3);
+
+    private final LocationRepository locationRepository = Mockito.mock(LocationRepository.class);
+    private final OpenMeteoClient openMeteoClient = Mockito.mock(OpenMeteoClient.class);
+    private final WeatherSnapshotWriter weatherSnapshotWriter = Mockito.mock(WeatherSnapshotWriter.class);
+    private final LocationPollScheduler locationPollScheduler = Mockito.mock(LocationPollScheduler.class);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void ingestAllLocations_fetchesOncePerGridCell() {
+        Location cityHall = new Location("Seoul City Hall", 37.5663, 126.9779);
+        Location deoksugung = new Location("Deoksugung", 37.5658, 126.9751);
+        Location busan = new Location("Busan", 35.1796, 129.0756);
+        given(locationRepository.findAll()).willReturn(List.of(cityHall, deoksugung, busan));
+        given(openMeteoClient.fetchCurrentBatch(anyList()))
+                .willAnswer(inv -> List.of(Optional.of(OBSERVATION), Optional.of(OBSERVATION)));
+
+        service(0.01).ingestAllLocations();
+
+        ArgumentCaptor<List<Coordinate>> fetched = ArgumentCaptor.forClass(List.class);
+        verify(openMeteoClient).fetchCurrentBatch(fetched.capture());
+        assertThat(fetched.getValue()).containsExactly(new Coordinate(37.565, 126.975), new Coordinate(35.175, 129.075));
+
+        ArgumentCaptor<List<LocationObservation>> written = ArgumentCaptor.forClass(List.class);
+        verify(weatherSnapshotWriter).write(written.capture());
+        assertThat(written.getValue())
+                .extracting(LocationObservation::location)
+                .containsExactly(cityHall, deoksugung, busan);
+    }
+
+    @Test
+    void ingestAllLocations_reportsProgressPerLocation_andBacksOffFailedOnes() {
+        Location cityHall = new Location("Seoul City Hall", 37.5663, 126.9779);
+        Location deoksugung = new Location("Deoksugung", 37.5658, 126.9751);
+        Location busan = new Location("Busan", 35.1796, 129.0756);
+        ReflectionTestUtils.setField(busan, "id", UUID.randomUUID());
+        given(locationRepository.findAll()).willReturn(List.of(cityHall, deoksugung, busan));
+        given(openMeteoClient.fetchCurrentBatch(anyList()))
+                .willAnswer(inv -> List.of(Optional.of(OBSERVATION), Optional.empty()));
+        given(weatherSnapshotWriter.write(anyList())).willReturn(1);
+
+        IngestProgress progress = new IngestProgress();
+        service(0.01).ingestAllLocations(progress);
+
+        assertThat(progress.total()).isEqualTo(3);
+        assertThat(progress.done()).isEqualTo(1);
+        assertThat(progress.skipped()).isEqualTo(1);
+        assertThat(progress.failed()).isEqualTo(1);
+        verify(locationPollScheduler).backoff(List.of(busan.getId()));
+    }
+
+    @Test
+    void loadShards_splitsGridCellsIntoDisjointShards() {
+        Location cityHall = new Location("Seoul City Hall", 37.5663, 126.9779);
+        Location deoksugung = new Location("Deoksugung", 37.5658, 126.9751);
+        Location busan = new Location("Busan", 35.1796, 129.0756);
+        Location jeju = new Location("Jeju", 33.4996, 126.5312);
+        Instant now = Instant.parse("2025-01-01T00:00:00Z");
+        given(locationRepository.findDueForPoll(now)).willReturn(List.of(cityHall, deoksugung, busan, jeju));
+
+        List<Map<Coordinate, List<Location>>> shards = service(0.01).loadShards(4, now);
+
+        assertThat(shards).hasSize(4);
+        assertThat(shards).flatExtracting(Map::keySet).hasSize(3).doesNotHaveDuplicates();
+        assertThat(shards.get(WeatherIngestService.shardOf(new Coordinate(37.565, 126.975), 4)))
+                .containsEntry(new Coordinate(37.565, 126.975), List.of(cityHall, deoksugung));
+    }
+
+    @Test
+    void stillDue_dropsLocationsPolledSinceTheShardWasLoaded() {
+        Location cityHall = new Location("Seoul City Hall", 37.5663, 126.9779);
+        Location deoksugung = new Location("Deoksugung", 37.5658, 126.9751);
+        Location busan = new Location("Busan", 35.1796, 129.0756);
+        List.of(cityHall, deoksugung, busan).forEach(location -> ReflectionTestUtils.setField(location, "id", UUID.randomUUID()));
+        Instant now = Instant.parse("2025-01-01T00:00:00Z");
+        given(locationRepository.findDueForPoll(now, List.of(cityHall.getId(), deoksugung.getId(), busan.getId())))
+                .willReturn(List.of(deoksugung));
+
+        Map<Coordinate, List<Location>> due = service(0.01)
+                .stillDue(ProviderGrid.group(List.of(cityHall, deoksugung, busan), 0.01), now);
+
+        assertThat(due).containsExactly(Map.entry(new Coordinate(37.565, 126.975), List.of(deoksugung)));
+    }
+
+    @Test
+    void ingestCells_defersLocationsBeyondProviderBudget() {
+        Location seoul = new Location("Seoul", 37.5663, 126.9779);
+        Location busan = new Location("Busan", 35.1796, 129.0756);
+        Location jeju = new Location("Jeju", 33.4996, 126.5312);
+        given(openMeteoClient.fetchCurrentBatch(anyList())).willReturn(List.of(Optional.of(OBSERVATION)));
+        given(weatherSnapshotWriter.write(anyList())).willAnswer(inv -> ((List<?>) inv.getArgument(0)).size());
+        RateLimiterRegistry budget = RateLimiterRegistry.of(RateLimiterConfig.custom()
+                .limitForPeriod(1)
+                .limitRefreshPeriod(Duration.ofMinutes(1))
+                .timeoutDuration(Duration.ZERO)
+                .build());
+
+        IngestProgress progress = new IngestProgress();
+        new WeatherIngestService(locationRepository, openMeteoClient, weatherSnapshotWriter, locationPollScheduler,
+                new WeatherIngestProperties(1, 1, 200, 0.01), budget, Clock.systemUTC())
+                .ingestCells(ProviderGrid.group(List.of(seoul, busan, jeju), 0.01), progress, Instant.now().plusSeconds(5));
+
+        verify(openMeteoClient, times(1)).fetchCurrentBatch(anyList());
+        assertThat(progress.done()).isEqualTo(1);
+        assertThat(progress.deferred()).isEqualTo(2);
+        assertThat(progress.failed()).isZero();
+    }
+
+    private WeatherIngestService service(double gridResolution) {
+        return new WeatherIngestService(
+                locationRepository,
+                openMeteoClient,
+                weatherSnapshotWriter,
+                locationPollScheduler,
+                new WeatherIngestProperties(1, 50, 200, gridResolution),
+                RateLimiterRegistry.ofDefaults(),
+                Clock.systemUTC()
+        );
+    }
+}
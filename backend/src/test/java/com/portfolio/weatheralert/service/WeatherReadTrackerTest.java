@@ -0,0 +1,113 @@
+package com.portfolio.weatheralert.service;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import com.portfolio.weatheralert.repository.LocationPollScheduleRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class WeatherReadTrackerTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+    private static final Instant POLL_BY = NOW.plus(Duration.ofMinutes(5));
+
+    private final LocationPollScheduleRepository locationPollScheduleRepository = Mockito.mock(LocationPollScheduleRepository.class);
+
+    private final WeatherReadTracker tracker = new WeatherReadTracker(
+            locationPollScheduleRepository,
+            new PollingProperties(Duration.ofMinutes(5), Duration.ofHours(1)),
+            Clock.fixed(NOW, ZoneOffset.UTC)
+    );
+
+    @BeforeEach
+    void setUp() {
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void flush_removesCountsOnlyAfterCommit() {
+        UUID locationId = UUID.randomUUID();
+        given(locationPollScheduleRepository.recordReads(any(), anyLong(), any())).willReturn(1);
+        tracker.record(locationId);
+        tracker.record(locationId);
+
+        tracker.flush();
+        tracker.record(locationId);
+        commit();
+
+        tracker.flush();
+        commit();
+
+        verify(locationPollScheduleRepository).recordReads(locationId, 2L, POLL_BY);
+        // The read that arrived while the first flush was in flight is carried over, not lost or counted twice.
+        verify(locationPollScheduleRepository).recordReads(locationId, 1L, POLL_BY);
+
+        tracker.flush();
+        commit();
+        Mockito.verifyNoMoreInteractions(locationPollScheduleRepository);
+    }
+
+    @Test
+    void flush_keepsCountsWhenTheUpdateFails() {
+        UUID locationId = UUID.randomUUID();
+        given(locationPollScheduleRepository.recordReads(eq(locationId), anyLong(), any()))
+                .willThrow(new IllegalStateException("connection lost"))
+                .willReturn(1);
+        tracker.record(locationId);
+
+        assertThatThrownBy(tracker::flush).isInstanceOf(IllegalStateException.class);
+        rollback();
+
+        tracker.flush();
+        commit();
+
+        verify(locationPollScheduleRepository, Mockito.times(2)).recordReads(locationId, 1L, POLL_BY);
+    }
+
+    @Test
+    void flush_keepsCountsForLocationsWithoutASchedule() {
+        UUID locationId = UUID.randomUUID();
+        given(locationPollScheduleRepository.recordReads(eq(locationId), anyLong(), any())).willReturn(0, 1);
+        tracker.record(locationId);
+
+        tracker.flush();
+        commit();
+        tracker.flush();
+        commit();
+
+        verify(locationPollScheduleRepository, Mockito.times(2)).recordReads(locationId, 1L, POLL_BY);
+    }
+
+    private static void commit() {
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    private static void rollback() {
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.initSynchronization();
+    }
+}
@@ -0,0 +1,75 @@
+package com.portfolio.weatheralert.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import com.portfolio.weatheralert.domain.Location;
+import com.portfolio.weatheralert.repository.SnapshotEvaluationOutboxRepository;
+import com.portfolio.weatheralert.repository.UpsertOutcome;
+import com.portfolio.weatheralert.repository.UpsertedSnapshot;
+import com.portfolio.weatheralert.repository.WeatherSnapshotRepository;
+import com.portfolio.weatheralert.service.dto.CurrentWeatherResponse;
+import com.portfolio.weatheralert.weather.WeatherObservation;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class WeatherSnapshotWriterTest {
+
+    private static final Instant OBSERVED_AT = Instant.parse("2025-01-01T00:00:00Z");
+
+    private final WeatherSnapshotRepository weatherSnapshotRepository = Mockito.mock(WeatherSnapshotRepository.class);
+    private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager("currentWeather");
+
+    private final WeatherSnapshotWriter writer = new WeatherSnapshotWriter(
+            weatherSnapshotRepository,
+            Mockito.mock(SnapshotEvaluationOutboxRepository.class),
+            Mockito.mock(ApplicationEventPublisher.class),
+            cacheManager,
+            Mockito.mock(LocationPollScheduler.class),
+            Mockito.mock(AlertPipelineMetrics.class));
+
+    @Test
+    void write_putsStoredSnapshotIntoCurrentWeatherCache() {
+        Location seoul = location("Seoul", 37.5, 126.9);
+        Location busan = location("Busan", 35.1, 129.0);
+        Cache cache = cacheManager.getCache("currentWeather");
+        CurrentWeatherResponse cachedBusan = new CurrentWeatherResponse(
+                busan.getId(), OBSERVED_AT, 8.0, 7.0, 0.0, 1, WeatherSnapshotWriter.SOURCE);
+        cache.put(busan.getId(), cachedBusan);
+        // The provider sent no precipitation for Seoul; the stored row kept its earlier value.
+        given(weatherSnapshotRepository.upsertAll(anyList())).willReturn(List.of(
+                new UpsertedSnapshot(UUID.randomUUID(), seoul.getId(), OBSERVED_AT, UpsertOutcome.UPDATED,
+                        -2.0, -5.0, 0.4, 71, WeatherSnapshotWriter.SOURCE),
+                unchanged(busan)
+        ));
+
+        int written = writer.write(List.of(
+                new LocationObservation(seoul, new WeatherObservation(OBSERVED_AT, -2.0, -5.0, null, 71)),
+                new LocationObservation(busan, new WeatherObservation(OBSERVED_AT, 8.0, 7.0, 0.0, 1))
+        ));
+
+        assertThat(written).isEqualTo(1);
+        assertThat(cache.get(seoul.getId(), CurrentWeatherResponse.class)).isEqualTo(new CurrentWeatherResponse(
+                seoul.getId(), OBSERVED_AT, -2.0, -5.0, 0.4, 71, WeatherSnapshotWriter.SOURCE));
+        assertThat(cache.get(busan.getId(), CurrentWeatherResponse.class)).isSameAs(cachedBusan);
+    }
+
+    private static UpsertedSnapshot unchanged(Location location) {
+        return new UpsertedSnapshot(null, location.getId(), OBSERVED_AT, UpsertOutcome.UNCHANGED, null, null, null, null, null);
+    }
+
+    private static Location location(String name, double latitude, double longitude) {
+        Location location = new Location(name, latitude, longitude);
+        ReflectionTestUtils.setField(location, "id", UUID.randomUUID());
+        return location;
+    }
+}
@@ -0,0 +1,119 @@
+package com.portfolio.weatheralert.weather;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the previous boxed-list binding of a 168-hour payload with the streaming columnar parser.
+ * Run with {@code -prof gc} appended to the JMH arguments to see allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HourlyForecastParsingBenchmark {
+
+    private static final int HOURS = 168;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private byte[] payload;
+
+    @Setup
+    public void setUp() {
+        StringBuilder time = new StringBuilder();
+        StringBuilder temperature = new StringBuilder();
+        StringBuilder apparent = new StringBuilder();
+        StringBuilder code = new StringBuilder();
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0);
+        for (int i = 0; i < HOURS; i++) {
+            String separator = i == 0 ? "" : ",";
+            time.append(separator).append('"').append(start.plusHours(i)).append('"');
+            temperature.append(separator).append(i % 50 == 0 ? "null" : String.format(Locale.ROOT, "%.1f", -5 + i * 0.1));
+            apparent.append(separator).append(String.format(Locale.ROOT, "%.1f", -8 + i * 0.1));
+            code.append(separator).append(i % 4);
+        }
+        payload = ("{\"latitude\":37.5,\"longitude\":126.9,\"hourly\":{"
+                + "\"time\":[" + time + "],"
+                + "\"temperature_2m\":[" + temperature + "],"
+                + "\"apparent_temperature\":[" + apparent + "],"
+                + "\"weather_code\":[" + code + "]}}").getBytes();
+    }
+
+    @Benchmark
+    public HourlyForecast streamingColumnar() throws IOException {
+        return HourlyForecastParser.parse(new ByteArrayInputStream(payload), HOURS).orElseThrow();
+    }
+
+    @Benchmark
+    public List<LegacyPoint> boxedBinding() throws IOException {
+        LegacyResponse response = objectMapper.readValue(new ByteArrayInputStream(payload), LegacyResponse.class);
+        List<String> times = response.hourly.time;
+        List<LegacyPoint> points = new ArrayList<>(times.size());
+        for (int i = 0; i < times.size(); i++) {
+            points.add(new LegacyPoint(
+                    legacyParse(times.get(i)),
+                    response.hourly.temperature2m.get(i),
+                    response.hourly.apparentTemperature.get(i),
+                    response.hourly.weatherCode.get(i)
+            ));
+        }
+        return points;
+    }
+
+    private static Instant legacyParse(String time) {
+        try {
+            return OffsetDateTime.parse(time).toInstant();
+        } catch (DateTimeParseException ignored) {
+        }
+        return LocalDateTime.parse(time).toInstant(ZoneOffset.UTC);
+    }
+
+    public record LegacyPoint(Instant time, Double temperatureC, Double apparentTemperatureC, Integer weatherCode) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    static final class LegacyResponse {
+        @JsonProperty("hourly")
+        public LegacyHourly hourly;
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    static final class LegacyHourly {
+        @JsonProperty("time")
+        public List<String> time;
+
+        @JsonProperty("temperature_2m")
+        public List<Double> temperature2m;
+
+        @JsonProperty("apparent_temperature")
+        public List<Double> apparentTemperature;
+
+        @JsonProperty("weather_code")
+        public List<Integer> weatherCode;
+    }
+}
@@ -3,9 +3,12 @@ package com.portfolio.weatheralert.weather;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
 
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
 import org.junit.jupiter.api.Test;
 import org.springframework.web.client.RestClient;
 
@@ -42,4 +45,79 @@ class OpenMeteoClientTest {
             assertThat(observation.observedAt()).isEqualTo(Instant.parse("2025-01-01T00:00:00Z"));
         }
     }
+
+    @Test
+    void fetchCurrentBatch_parsesArrayInRequestOrder() throws Exception {
+        try (MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse()
+                    .addHeader("Content-Type", "application/json")
+                    .setBody("""
+                            [
+                              {"current": {"time": "2025-01-01T00:00", "temperature_2m": 3.5, "precipitation": 0.0}},
+                              {},
+                              {"current": {"time": "2025-01-01T00:15", "temperature_2m": -1.0, "precipitation": 1.4}}
+                            ]
+                            """));
+            server.start();
+
+            RestClient restClient = RestClient.builder()
+                    .baseUrl(server.url("/").toString())
+                    .build();
+            OpenMeteoClient client = new OpenMeteoClient(restClient);
+
+            List<Optional<WeatherObservation>> observations = client.fetchCurrentBatch(List.of(
+                    new Coordinate(37.5, 126.9),
+                    new Coordinate(35.1, 129.0),
+                    new Coordinate(33.5, 126.5)
+            ));
+
+            assertThat(observations).hasSize(3);
+            assertThat(observations.get(0).orElseThrow().temperatureC()).isEqualTo(3.5);
+            assertThat(observations.get(1)).isEmpty();
+            assertThat(observations.get(2).orElseThrow().precipitationMm()).isEqualTo(1.4);
+            assertThat(observations.get(2).orElseThrow().observedAt()).isEqualTo(Instant.parse("2025-01-01T00:15:00Z"));
+
+            RecordedRequest request = server.takeRequest();
+            assertThat(request.getRequestUrl().queryParameter("latitude")).isEqualTo("37.5,35.1,33.5");
+            assertThat(request.getRequestUrl().queryParameter("longitude")).isEqualTo("126.9,129.0,126.5");
+        }
+    }
+
+    @Test
+    void fetchHourlyForecast_parsesColumnsWithNulls() throws Exception {
+        try (MockWebServer server = new MockWebServer()) {
+            server.enqueue(new MockResponse()
+                    .addHeader("Content-Type", "application/json")
+                    .setBody("""
+                            {
+                              "latitude": 37.5,
+                              "hourly_units": {"time": "iso8601"},
+                              "hourly": {
+                                "time": ["2024-02-29T23:00", "2024-03-01T00:00", "2024-03-01T01:00"],
+                                "temperature_2m": [1.5, null, -0.5],
+                                "apparent_temperature": [0.1, -1.0],
+                                "weather_code": [3, 61, null]
+                              }
+                            }
+                            """));
+            server.start();
+
+            RestClient restClient = RestClient.builder()
+                    .baseUrl(server.url("/").toString())
+                    .build();
+            OpenMeteoClient client = new OpenMeteoClient(restClient);
+
+            HourlyForecast forecast = client.fetchHourlyForecast(37.5, 126.9, 3).orElseThrow();
+
+            assertThat(forecast.size()).isEqualTo(3);
+            assertThat(forecast.time(0)).isEqualTo(Instant.parse("2024-02-29T23:00:00Z"));
+            assertThat(forecast.time(2)).isEqualTo(Instant.parse("2024-03-01T01:00:00Z"));
+            assertThat(forecast.temperatureC(0)).isEqualTo(1.5);
+            assertThat(forecast.temperatureC(1)).isNaN();
+            assertThat(forecast.apparentTemperatureC(2)).isNaN();
+            assertThat(forecast.hasWeatherCode(1)).isTrue();
+            assertThat(forecast.weatherCode(1)).isEqualTo(61);
+            assertThat(forecast.hasWeatherCode(2)).isFalse();
+        }
+    }
 }